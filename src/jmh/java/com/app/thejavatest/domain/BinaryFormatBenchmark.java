@@ -0,0 +1,122 @@
+package com.app.thejavatest.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/*
+	JSON / CBOR / Smile 별로 Study 한건과 batch(List<Study>) 의 인코딩/디코딩 비용을 잰다. (./gradlew jmh -PjmhIncludes=BinaryFormatBenchmark)
+	페이로드 크기는 setup 에서 한번 출력한다.
+	batch 크기(size) 는 List<Study> 벤치마크만 쓰므로 Batch state 에 따로 둔다. (단건 벤치마크가 size 별로 중복 실행되지 않도록)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryFormatBenchmark {
+
+	private static final TypeReference<List<Study>> STUDIES = new TypeReference<>() {
+	};
+
+	@Param({"JSON", "CBOR", "SMILE"})
+	String format;
+
+	ObjectMapper objectMapper;
+
+	Study study;
+
+	byte[] studyPayload;
+
+	byte[] testDtoPayload;
+
+	@State(Scope.Benchmark)
+	public static class Batch {
+
+		@Param({"1", "1000"})
+		int size;
+
+		List<Study> studies;
+
+		byte[] payload;
+
+		@Setup
+		public void setup(BinaryFormatBenchmark benchmark) throws Exception {
+			studies = new ArrayList<>(size);
+			for (int i = 0; i < size; i++) {
+				studies.add(study(i));
+			}
+			payload = benchmark.objectMapper.writeValueAsBytes(studies);
+			System.out.printf("%n[%s] %d studies=%d bytes%n", benchmark.format, size, payload.length);
+		}
+	}
+
+	@Setup
+	public void setup() throws Exception {
+		objectMapper = Jackson2ObjectMapperBuilder.json().factory(factory()).build();
+		study = study(0);
+		studyPayload = objectMapper.writeValueAsBytes(study);
+		testDtoPayload = objectMapper.writeValueAsBytes(
+			Jackson2ObjectMapperBuilder.json().build().readValue("{\"name\":\"keesun\",\"age\":20}", TestDto.class));
+		System.out.printf("%n[%s] study=%d bytes, testDto=%d bytes%n",
+			format, studyPayload.length, testDtoPayload.length);
+	}
+
+	private static Study study(int index) {
+		Study study = new Study(10, "study-" + index);
+		study.setId((long)index + 1);
+		study.setOwnerId(1L);
+		study.open();
+		return study;
+	}
+
+	private JsonFactory factory() {
+		switch (format) {
+			case "CBOR":
+				return new CBORFactory();
+			case "SMILE":
+				return new SmileFactory();
+			default:
+				return new JsonFactory();
+		}
+	}
+
+	@Benchmark
+	public byte[] encodeStudy() throws Exception {
+		return objectMapper.writeValueAsBytes(study);
+	}
+
+	@Benchmark
+	public Study decodeStudy() throws Exception {
+		return objectMapper.readValue(studyPayload, Study.class);
+	}
+
+	@Benchmark
+	public byte[] encodeStudies(Batch batch) throws Exception {
+		return objectMapper.writeValueAsBytes(batch.studies);
+	}
+
+	@Benchmark
+	public List<Study> decodeStudies(Batch batch) throws Exception {
+		return objectMapper.readValue(batch.payload, STUDIES);
+	}
+
+	@Benchmark
+	public TestDto decodeTestDto() throws Exception {
+		return objectMapper.readValue(testDtoPayload, TestDto.class);
+	}
+}
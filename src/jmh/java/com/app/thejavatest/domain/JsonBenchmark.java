@@ -0,0 +1,68 @@
+package com.app.thejavatest.domain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/*
+	컨트롤러가 쓰는 것과 같은 설정(Jackson2ObjectMapperBuilder)의 ObjectMapper 로
+	Study 직렬화와 TestDto 역직렬화(@JsonCreator private 생성자) 비용을 잰다.
+	binding=blackbird 는 앱과 같이 Blackbird 모듈(생성된 accessor)을 넣은 경우, default 는 리플렉션 기본값
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonBenchmark {
+
+	@Param({"default", "blackbird"})
+	String binding;
+
+	ObjectMapper objectMapper;
+
+	Study study;
+
+	byte[] studyJson;
+
+	byte[] testDtoJson;
+
+	@Setup
+	public void setup() throws Exception {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+		if ("blackbird".equals(binding)) {
+			builder.modulesToInstall(new BlackbirdModule());
+		}
+		objectMapper = builder.build();
+		study = new Study(10, "java");
+		study.setId(1L);
+		study.setOwnerId(1L);
+		study.open();
+		studyJson = objectMapper.writeValueAsBytes(study);
+		testDtoJson = "{\"name\":\"keesun\",\"age\":20}".getBytes();
+	}
+
+	@Benchmark
+	public byte[] serializeStudy() throws Exception {
+		return objectMapper.writeValueAsBytes(study);
+	}
+
+	@Benchmark
+	public Study deserializeStudy() throws Exception {
+		return objectMapper.readValue(studyJson, Study.class);
+	}
+
+	@Benchmark
+	public TestDto deserializeTestDto() throws Exception {
+		return objectMapper.readValue(testDtoJson, TestDto.class);
+	}
+}
@@ -0,0 +1,38 @@
+package com.app.thejavatest.domain;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+// Study 생성과 open() 비용
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StudyBenchmark {
+
+	int limitCount = 10;
+
+	String name = "java";
+
+	@Benchmark
+	public Study construct() {
+		return new Study(limitCount, name);
+	}
+
+	@Benchmark
+	public Study constructWithStatus() {
+		return new Study(StudyStatus.DRAFT, limitCount);
+	}
+
+	@Benchmark
+	public Study constructAndOpen() {
+		Study study = new Study(limitCount, name);
+		study.open();
+		return study;
+	}
+}
@@ -0,0 +1,94 @@
+package com.app.thejavatest.study;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.app.thejavatest.domain.Member;
+import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.member.MemberService;
+
+/*
+	DB 없이 StudyService.createNewStudy 자체 비용만 잰다.
+	repository 와 MemberService 는 Map 기반 가짜 구현(Proxy)이고, 필요한 메소드만 구현되어 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudyServiceBenchmark {
+
+	StudyService studyService;
+
+	Map<Long, Study> studies;
+
+	@Setup
+	public void setup() {
+		studies = new ConcurrentHashMap<>();
+		Member member = new Member();
+		member.setId(1L);
+		member.setEmail("keesun@email.com");
+		studyService = new StudyService(memberService(member), inMemoryRepository(studies));
+	}
+
+	@Benchmark
+	public Study createNewStudy() {
+		Study study = studyService.createNewStudy(1L, new Study(10, "java"));
+		studies.remove(study.getId());
+		return study;
+	}
+
+	static StudyRepository inMemoryRepository(Map<Long, Study> studies) {
+		AtomicLong sequence = new AtomicLong();
+		return (StudyRepository)Proxy.newProxyInstance(StudyRepository.class.getClassLoader(),
+			new Class<?>[] {StudyRepository.class}, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "save":
+						Study study = (Study)args[0];
+						if (study.getId() == null) {
+							study.setId(sequence.incrementAndGet());
+						}
+						studies.put(study.getId(), study);
+						return study;
+					case "findById":
+						return Optional.ofNullable(studies.get((Long)args[0]));
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "equals":
+						return proxy == args[0];
+					case "toString":
+						return "InMemoryStudyRepository";
+					default:
+						throw new UnsupportedOperationException(method.getName());
+				}
+			});
+	}
+
+	static MemberService memberService(Member member) {
+		return (MemberService)Proxy.newProxyInstance(MemberService.class.getClassLoader(),
+			new Class<?>[] {MemberService.class}, (proxy, method, args) -> {
+				switch (method.getName()) {
+					case "findById":
+						return Optional.of(member);
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "equals":
+						return proxy == args[0];
+					case "toString":
+						return "StubMemberService";
+					default:
+						return null;
+				}
+			});
+	}
+}
@@ -0,0 +1,114 @@
+package com.app.thejavatest.loadtest;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.app.thejavatest.TheJavaTestApplication;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+	TheJavaTestApplication 을 새 JVM 으로 띄운다. (시작 시간과 CDS 는 같은 JVM 안에서 잴 수 없으므로)
+
+	LoadTestRunner 와 같이 H2 로 띄우고, 출력은 logFile 로 보낸다.
+	첫 요청은 DB 까지 가는 GET /studies 로 본다.
+ */
+@RequiredArgsConstructor
+public class AppProcess implements AutoCloseable {
+
+	private static final String FIRST_REQUEST = "/studies?status=OPENED&limit=1";
+
+	private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+	private final Process process;
+
+	private final long startNanos;
+
+	private final int port;
+
+	public static AppProcess start(String classpath, List<String> jvmArgs, List<String> appArgs, Path logFile)
+		throws IOException {
+		int port = freePort();
+		List<String> command = new ArrayList<>();
+		command.add(java());
+		command.addAll(jvmArgs);
+		command.add("-cp");
+		command.add(classpath);
+		command.add(TheJavaTestApplication.class.getName());
+		command.add("--server.port=" + port);
+		command.add("--spring.datasource.url=jdbc:h2:mem:startup;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+		command.add("--spring.datasource.driver-class-name=org.h2.Driver");
+		command.add("--spring.datasource.username=sa");
+		command.add("--spring.datasource.password=");
+		command.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+		command.add("--spring.jpa.show-sql=false");
+		command.addAll(appArgs);
+
+		Files.createDirectories(logFile.toAbsolutePath().getParent());
+		long startNanos = System.nanoTime();
+		Process process = new ProcessBuilder(command)
+			.redirectErrorStream(true)
+			.redirectOutput(logFile.toFile())
+			.start();
+		return new AppProcess(process, startNanos, port);
+	}
+
+	static String java() {
+		return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+	}
+
+	// 프로세스를 띄운 때부터 첫 요청이 200 을 받을 때까지
+	public Duration awaitFirstRequest() throws IOException, InterruptedException {
+		HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(1))
+			.build();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + FIRST_REQUEST))
+			.GET()
+			.build();
+		long deadline = startNanos + TIMEOUT.toNanos();
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Application exited with " + process.exitValue());
+			}
+			try {
+				HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() != 200) {
+					throw new IllegalStateException("First request failed: " + response.statusCode());
+				}
+				return Duration.ofNanos(System.nanoTime() - startNanos);
+			} catch (ConnectException e) {
+				// 아직 포트가 열리지 않았다.
+				Thread.sleep(10);
+			}
+		}
+		throw new IllegalStateException("Application did not answer within " + TIMEOUT);
+	}
+
+	// SIGTERM 으로 정상 종료시킨다. (-XX:DumpLoadedClassList 파일이 닫히도록)
+	@Override
+	public void close() throws InterruptedException {
+		process.destroy();
+		if (!process.waitFor(30, TimeUnit.SECONDS)) {
+			process.destroyForcibly().waitFor();
+		}
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
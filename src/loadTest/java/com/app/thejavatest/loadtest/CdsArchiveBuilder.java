@@ -0,0 +1,44 @@
+package com.app.thejavatest.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/*
+	./gradlew cdsArchive
+
+	1. fast-startup 으로 한번 띄워서 첫 요청까지 로딩한 클래스 목록을 남긴다. (-XX:DumpLoadedClassList)
+	2. 그 목록으로 AppCDS 아카이브를 만든다. (-Xshare:dump)
+	Java 11 에서도 되도록 정적 아카이브로 만든다. (-XX:ArchiveClassesAtExit 는 Java 13+)
+	아카이브는 만들 때와 같은 JDK, 같은 classpath 로 띄울 때만 쓰이고, 디렉토리가 아닌 jar 안의 클래스만 들어간다.
+ */
+public class CdsArchiveBuilder {
+
+	public static void main(String[] args) throws Exception {
+		StartupSettings settings = StartupSettings.fromSystemProperties();
+		Path archive = settings.getArchive().toAbsolutePath();
+		Path classList = archive.resolveSibling("classes.lst");
+		Files.createDirectories(archive.getParent());
+
+		try (AppProcess app = AppProcess.start(settings.getClasspath(),
+			List.of("-Xshare:off", "-XX:DumpLoadedClassList=" + classList),
+			StartupBenchmark.FAST_STARTUP_ARGS, archive.resolveSibling("training.log"))) {
+			System.out.printf("Training run answered the first request in %dms%n", app.awaitFirstRequest().toMillis());
+		}
+
+		Path dumpLog = archive.resolveSibling("dump.log");
+		Process dump = new ProcessBuilder(AppProcess.java(),
+			"-Xshare:dump",
+			"-XX:SharedClassListFile=" + classList,
+			"-XX:SharedArchiveFile=" + archive,
+			"-cp", settings.getClasspath())
+			.redirectErrorStream(true)
+			.redirectOutput(dumpLog.toFile())
+			.start();
+		if (dump.waitFor() != 0) {
+			throw new IllegalStateException("Could not dump the CDS archive, see " + dumpLog);
+		}
+		System.out.printf("Archived %d classes to %s (%d KB)%n",
+			Files.readAllLines(classList).size(), archive, Files.size(archive) / 1024);
+	}
+}
@@ -0,0 +1,88 @@
+package com.app.thejavatest.loadtest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Recorder;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+	concurrency 개의 가상 유저가 요청을 보내고 응답을 받으면 바로 다음 요청을 보낸다. (closed loop)
+	유저는 ramp-up 동안 나눠서 시작하고, ramp-up 이 끝난 뒤 duration 동안 시작한 요청만 기록한다.
+	응답 본문 크기와 요청당 프로세스 CPU 시간도 남긴다. (앱과 같은 JVM 이라 클라이언트 CPU 도 포함된 상대값)
+ */
+@RequiredArgsConstructor
+public class LoadDriver {
+
+	private final HttpClient client;
+
+	private final LoadTestSettings settings;
+
+	public ScenarioResult run(Scenario scenario) throws InterruptedException {
+		Recorder recorder = new Recorder(3);
+		AtomicLong errors = new AtomicLong();
+		LongAdder bytes = new LongAdder();
+		LongAdder completed = new LongAdder();
+		long cpuStart = processCpuNanos();
+		int concurrency = settings.getConcurrency();
+		long rampUpNanos = settings.getRampUp().toNanos();
+		long startAt = System.nanoTime();
+		long measureFrom = startAt + rampUpNanos;
+		long endAt = measureFrom + settings.getDuration().toNanos();
+
+		ExecutorService users = Executors.newFixedThreadPool(concurrency);
+		for (int user = 0; user < concurrency; user++) {
+			long userStartAt = startAt + rampUpNanos * user / concurrency;
+			users.execute(() -> {
+				LockSupport.parkNanos(userStartAt - System.nanoTime());
+				while (System.nanoTime() < endAt && !Thread.currentThread().isInterrupted()) {
+					long requestStart = System.nanoTime();
+					HttpResponse<byte[]> response = send(scenario);
+					long requestEnd = System.nanoTime();
+					completed.increment();
+					if (requestStart < measureFrom) {
+						continue;
+					}
+					if (response != null && response.statusCode() == scenario.getExpectedStatus()) {
+						recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(requestEnd - requestStart));
+						bytes.add(response.body().length);
+					} else {
+						errors.incrementAndGet();
+					}
+				}
+			});
+		}
+		users.shutdown();
+		if (!users.awaitTermination(endAt - System.nanoTime() + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS)) {
+			users.shutdownNow();
+		}
+		long cpuPerRequest = completed.sum() == 0 ? 0 : (processCpuNanos() - cpuStart) / completed.sum();
+		return new ScenarioResult(scenario.getName(), recorder.getIntervalHistogram(), errors.get(),
+			Duration.ofNanos(endAt - measureFrom), bytes.sum(), Duration.ofNanos(cpuPerRequest));
+	}
+
+	private HttpResponse<byte[]> send(Scenario scenario) {
+		try {
+			return client.send(scenario.getRequests().get(), HttpResponse.BodyHandlers.ofByteArray());
+		} catch (IOException e) {
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	private long processCpuNanos() {
+		return ((com.sun.management.OperatingSystemMXBean)ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+	}
+}
@@ -0,0 +1,96 @@
+package com.app.thejavatest.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import lombok.RequiredArgsConstructor;
+
+/*
+	결과를 reportDir 에 남긴다.
+		report.txt: 사람이 보는 표
+		latest.properties: 다음 실행의 기준(baseline)으로 쓸 수 있는 값
+	baseline 이 있으면 p99 와 처리량을 비교해서 tolerance 이상 나빠진 항목을 돌려준다.
+ */
+@RequiredArgsConstructor
+public class LoadTestReport {
+
+	private final LoadTestSettings settings;
+
+	private final List<ScenarioResult> results;
+
+	public String table() {
+		StringBuilder table = new StringBuilder();
+		table.append(String.format(Locale.ROOT, "concurrency=%d rampUp=%s duration=%s%n",
+			settings.getConcurrency(), settings.getRampUp(), settings.getDuration()));
+		table.append(String.format(Locale.ROOT, "%-14s %10s %8s %10s %10s %10s %10s %12s %10s %12s%n",
+			"scenario", "requests", "errors", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)", "req/s",
+			"bytes/req", "cpu/req(us)"));
+		for (ScenarioResult result : results) {
+			table.append(String.format(Locale.ROOT, "%-14s %10d %8d %10.2f %10.2f %10.2f %10.2f %12.1f %10.1f %12.1f%n",
+				result.getName(), result.requests(), result.getErrors(),
+				result.percentileMillis(50), result.percentileMillis(99), result.percentileMillis(99.9),
+				result.maxMillis(), result.throughput(), result.bytesPerRequest(), result.cpuMicrosPerRequest()));
+		}
+		return table.toString();
+	}
+
+	public Properties toProperties() {
+		Properties properties = new Properties();
+		for (ScenarioResult result : results) {
+			String prefix = result.getName() + ".";
+			properties.setProperty(prefix + "requests", String.valueOf(result.requests()));
+			properties.setProperty(prefix + "errors", String.valueOf(result.getErrors()));
+			properties.setProperty(prefix + "p50", format(result.percentileMillis(50)));
+			properties.setProperty(prefix + "p99", format(result.percentileMillis(99)));
+			properties.setProperty(prefix + "p999", format(result.percentileMillis(99.9)));
+			properties.setProperty(prefix + "max", format(result.maxMillis()));
+			properties.setProperty(prefix + "throughput", format(result.throughput()));
+			properties.setProperty(prefix + "bytesPerRequest", format(result.bytesPerRequest()));
+			properties.setProperty(prefix + "cpuMicrosPerRequest", format(result.cpuMicrosPerRequest()));
+		}
+		return properties;
+	}
+
+	public void write() throws IOException {
+		Files.createDirectories(settings.getReportDir());
+		Files.writeString(settings.getReportDir().resolve("report.txt"), table());
+		try (Writer writer = Files.newBufferedWriter(settings.getReportDir().resolve("latest.properties"))) {
+			toProperties().store(writer, "load test result (ms, req/s, bytes, us)");
+		}
+	}
+
+	public List<String> regressions() throws IOException {
+		List<String> regressions = new ArrayList<>();
+		if (!Files.exists(settings.getBaseline())) {
+			return regressions;
+		}
+		Properties baseline = new Properties();
+		try (Reader reader = Files.newBufferedReader(settings.getBaseline())) {
+			baseline.load(reader);
+		}
+		double tolerance = settings.getTolerance();
+		for (ScenarioResult result : results) {
+			String p99 = baseline.getProperty(result.getName() + ".p99");
+			if (p99 != null && result.percentileMillis(99) > Double.parseDouble(p99) * (1 + tolerance)) {
+				regressions.add(String.format(Locale.ROOT, "%s p99 %.2fms > baseline %sms",
+					result.getName(), result.percentileMillis(99), p99));
+			}
+			String throughput = baseline.getProperty(result.getName() + ".throughput");
+			if (throughput != null && result.throughput() < Double.parseDouble(throughput) * (1 - tolerance)) {
+				regressions.add(String.format(Locale.ROOT, "%s throughput %.1f req/s < baseline %s req/s",
+					result.getName(), result.throughput(), throughput));
+			}
+		}
+		return regressions;
+	}
+
+	private String format(double value) {
+		return String.format(Locale.ROOT, "%.3f", value);
+	}
+}
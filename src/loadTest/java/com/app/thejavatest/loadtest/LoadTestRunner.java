@@ -0,0 +1,138 @@
+package com.app.thejavatest.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.thejavatest.TheJavaTestApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/*
+	./gradlew loadTest
+
+	1. H2(PostgreSQL 모드) 로 앱을 띄운다. 카오스 멍키는 끈다.
+	2. POST /study/batch 로 조회할 스터디를 만든다.
+	   poll-study 는 한번씩 조회해서 받은 ETag 로 If-None-Match 를 보낸다. (304, get-study 와 bytes/req, cpu/req 비교)
+	3. 시나리오를 하나씩 돌리고 결과를 build/reports/load-test 에 남긴다.
+	4. baseline 보다 나빠졌으면 exit code 1
+ */
+public class LoadTestRunner {
+
+	private static final int SEED_STUDIES = 1000;
+
+	private static final String JSON = "application/json";
+
+	public static void main(String[] args) throws Exception {
+		LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+		List<String> regressions;
+		try (ConfigurableApplicationContext context = SpringApplication.run(TheJavaTestApplication.class,
+			"--server.port=0",
+			"--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+			"--spring.datasource.driver-class-name=org.h2.Driver",
+			"--spring.datasource.username=sa",
+			"--spring.datasource.password=",
+			"--spring.jpa.hibernate.ddl-auto=create-drop",
+			"--spring.jpa.show-sql=false",
+			"--chaos.monkey.enabled=false")) {
+
+			String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+			HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+			List<Long> studyIds = seed(client, baseUrl);
+
+			List<ScenarioResult> results = new ArrayList<>();
+			LoadDriver driver = new LoadDriver(client, settings);
+			for (String name : settings.getScenarios()) {
+				System.out.println("Running scenario " + name);
+				results.add(driver.run(scenario(name, client, baseUrl, studyIds)));
+			}
+
+			LoadTestReport report = new LoadTestReport(settings, results);
+			report.write();
+			System.out.print(report.table());
+			regressions = report.regressions();
+		}
+
+		if (!regressions.isEmpty()) {
+			regressions.forEach(regression -> System.err.println("REGRESSION " + regression));
+			System.exit(1);
+		}
+		System.exit(0);
+	}
+
+	static Scenario scenario(String name, HttpClient client, String baseUrl, List<Long> studyIds) throws Exception {
+		switch (name) {
+			case "get-study":
+				return new Scenario(name, 200, () -> HttpRequest.newBuilder(
+						URI.create(baseUrl + "/study/" + studyIds.get(ThreadLocalRandom.current().nextInt(studyIds.size()))))
+					.GET()
+					.build());
+			case "poll-study":
+				Map<Long, String> etags = etags(client, baseUrl, studyIds);
+				return new Scenario(name, 304, () -> {
+					Long id = studyIds.get(ThreadLocalRandom.current().nextInt(studyIds.size()));
+					return HttpRequest.newBuilder(URI.create(baseUrl + "/study/" + id))
+						.header("If-None-Match", etags.get(id))
+						.GET()
+						.build();
+				});
+			case "create-study":
+				return new Scenario(name, 200, () -> post(baseUrl + "/study", "{\"limitCount\":10,\"name\":\"load\"}"));
+			case "test-dto":
+				return new Scenario(name, 200, () -> post(baseUrl + "/test", "{\"name\":\"keesun\",\"age\":20}"));
+			default:
+				throw new IllegalArgumentException("Unknown scenario '" + name + "'");
+		}
+	}
+
+	private static List<Long> seed(HttpClient client, String baseUrl) throws Exception {
+		StringBuilder body = new StringBuilder("[");
+		for (int i = 0; i < SEED_STUDIES; i++) {
+			body.append(i == 0 ? "" : ",").append("{\"limitCount\":10,\"name\":\"seed-").append(i).append("\"}");
+		}
+		body.append(']');
+		HttpResponse<String> response = client.send(post(baseUrl + "/study/batch", body.toString()),
+			HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+		}
+
+		List<Long> ids = new ArrayList<>(SEED_STUDIES);
+		for (JsonNode created : new ObjectMapper().readTree(response.body()).path("created")) {
+			ids.add(created.path("id").asLong());
+		}
+		return ids;
+	}
+
+	private static Map<Long, String> etags(HttpClient client, String baseUrl, List<Long> studyIds) throws Exception {
+		Map<Long, String> etags = new ConcurrentHashMap<>();
+		for (Long id : studyIds) {
+			HttpResponse<Void> response = client.send(
+				HttpRequest.newBuilder(URI.create(baseUrl + "/study/" + id)).GET().build(),
+				HttpResponse.BodyHandlers.discarding());
+			etags.put(id, response.headers().firstValue("ETag")
+				.orElseThrow(() -> new IllegalStateException("No ETag for study " + id)));
+		}
+		return etags;
+	}
+
+	private static HttpRequest post(String url, String json) {
+		return HttpRequest.newBuilder(URI.create(url))
+			.header("Content-Type", JSON)
+			.POST(HttpRequest.BodyPublishers.ofString(json))
+			.build();
+	}
+}
@@ -0,0 +1,51 @@
+package com.app.thejavatest.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// ./gradlew loadTest -PloadTest.xxx=... 로 넘어온 시스템 프로퍼티
+@Getter
+@RequiredArgsConstructor
+public class LoadTestSettings {
+
+	private final int concurrency;
+
+	private final Duration rampUp;
+
+	private final Duration duration;
+
+	private final List<String> scenarios;
+
+	private final double tolerance;
+
+	private final Path reportDir;
+
+	private final Path baseline;
+
+	public static LoadTestSettings fromSystemProperties() {
+		return new LoadTestSettings(
+			Integer.parseInt(property("concurrency", "32")),
+			DurationStyle.detectAndParse(property("rampUp", "5s")),
+			DurationStyle.detectAndParse(property("duration", "30s")),
+			Arrays.stream(property("scenarios", "get-study,poll-study,create-study,test-dto").split(","))
+				.map(String::trim)
+				.filter(name -> !name.isEmpty())
+				.collect(Collectors.toList()),
+			Double.parseDouble(property("tolerance", "0.2")),
+			Paths.get(property("reportDir", "build/reports/load-test")),
+			Paths.get(property("baseline", "load-test-baseline.properties")));
+	}
+
+	private static String property(String name, String defaultValue) {
+		return System.getProperty("loadTest." + name, defaultValue);
+	}
+}
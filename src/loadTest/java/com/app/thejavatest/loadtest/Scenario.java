@@ -0,0 +1,19 @@
+package com.app.thejavatest.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Supplier;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 부하를 줄 요청 하나. 요청마다 새 HttpRequest 를 만든다.
+@Getter
+@RequiredArgsConstructor
+public class Scenario {
+
+	private final String name;
+
+	private final int expectedStatus;
+
+	private final Supplier<HttpRequest> requests;
+}
@@ -0,0 +1,50 @@
+package com.app.thejavatest.loadtest;
+
+import java.time.Duration;
+
+import org.HdrHistogram.Histogram;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// 지연 시간은 마이크로초 단위로 기록한다. bytes 는 측정 구간에서 받은 응답 본문 크기 합
+@Getter
+@RequiredArgsConstructor
+public class ScenarioResult {
+
+	private final String name;
+
+	private final Histogram latencies;
+
+	private final long errors;
+
+	private final Duration elapsed;
+
+	private final long bytes;
+
+	private final Duration cpuPerRequest;
+
+	public long requests() {
+		return latencies.getTotalCount();
+	}
+
+	public double throughput() {
+		return requests() / (elapsed.toNanos() / 1_000_000_000.0);
+	}
+
+	public double percentileMillis(double percentile) {
+		return latencies.getValueAtPercentile(percentile) / 1000.0;
+	}
+
+	public double bytesPerRequest() {
+		return requests() == 0 ? 0 : (double)bytes / requests();
+	}
+
+	public double cpuMicrosPerRequest() {
+		return cpuPerRequest.toNanos() / 1000.0;
+	}
+
+	public double maxMillis() {
+		return latencies.getMaxValue() / 1000.0;
+	}
+}
@@ -0,0 +1,105 @@
+package com.app.thejavatest.loadtest;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/*
+	./gradlew startupBenchmark -Pstartup.runs=10
+
+	설정별로 앱을 runs 번씩 새 JVM 으로 띄워서 첫 요청(GET /studies) 이 200 을 받을 때까지 걸린 시간을 잰다.
+		default: application.yml 그대로 (chaos-monkey 프로필)
+		fast-startup: --spring.profiles.include=fast-startup (application-fast-startup.yml)
+		fast-startup-cds: fast-startup + ./gradlew cdsArchive 로 만든 AppCDS 아카이브
+	시간이 지나며 머신 상태가 바뀌는 영향을 줄이려고 설정을 번갈아 띄운다.
+	결과는 reportDir 의 report.txt, latest.properties 에 남긴다.
+ */
+public class StartupBenchmark {
+
+	static final List<String> FAST_STARTUP_ARGS = List.of("--spring.profiles.include=fast-startup");
+
+	public static void main(String[] args) throws Exception {
+		StartupSettings settings = StartupSettings.fromSystemProperties();
+		Map<String, List<Duration>> results = new LinkedHashMap<>();
+		settings.getVariants().forEach(variant -> results.put(variant, new ArrayList<>()));
+
+		for (int run = 0; run < settings.getRuns(); run++) {
+			for (String variant : settings.getVariants()) {
+				Path log = settings.getReportDir().resolve(variant + "-" + run + ".log");
+				try (AppProcess app = AppProcess.start(settings.getClasspath(), jvmArgs(variant, settings),
+					appArgs(variant), log)) {
+					Duration elapsed = app.awaitFirstRequest();
+					System.out.printf("%s #%d: %dms%n", variant, run + 1, elapsed.toMillis());
+					results.get(variant).add(elapsed);
+				}
+			}
+		}
+
+		String table = table(results);
+		System.out.print(table);
+		Files.writeString(settings.getReportDir().resolve("report.txt"), table);
+		try (Writer writer = Files.newBufferedWriter(settings.getReportDir().resolve("latest.properties"))) {
+			toProperties(results).store(writer, "time to first request (ms)");
+		}
+	}
+
+	private static List<String> jvmArgs(String variant, StartupSettings settings) {
+		switch (variant) {
+			case "default":
+			case "fast-startup":
+				return List.of();
+			case "fast-startup-cds":
+				if (!Files.exists(settings.getArchive())) {
+					throw new IllegalStateException("No CDS archive at " + settings.getArchive() + ", run ./gradlew cdsArchive");
+				}
+				return List.of("-XX:SharedArchiveFile=" + settings.getArchive().toAbsolutePath(), "-Xshare:auto");
+			default:
+				throw new IllegalArgumentException("Unknown variant '" + variant + "'");
+		}
+	}
+
+	private static List<String> appArgs(String variant) {
+		return variant.startsWith("fast-startup") ? FAST_STARTUP_ARGS : List.of();
+	}
+
+	private static String table(Map<String, List<Duration>> results) {
+		StringBuilder table = new StringBuilder();
+		table.append(String.format(Locale.ROOT, "%-18s %6s %10s %10s %10s%n", "variant", "runs", "min(ms)", "median(ms)",
+			"max(ms)"));
+		results.forEach((variant, durations) -> {
+			List<Duration> sorted = sorted(durations);
+			table.append(String.format(Locale.ROOT, "%-18s %6d %10d %10d %10d%n", variant, sorted.size(),
+				sorted.get(0).toMillis(), median(sorted).toMillis(), sorted.get(sorted.size() - 1).toMillis()));
+		});
+		return table.toString();
+	}
+
+	private static Properties toProperties(Map<String, List<Duration>> results) {
+		Properties properties = new Properties();
+		results.forEach((variant, durations) -> {
+			List<Duration> sorted = sorted(durations);
+			properties.setProperty(variant + ".min", String.valueOf(sorted.get(0).toMillis()));
+			properties.setProperty(variant + ".median", String.valueOf(median(sorted).toMillis()));
+			properties.setProperty(variant + ".max", String.valueOf(sorted.get(sorted.size() - 1).toMillis()));
+		});
+		return properties;
+	}
+
+	private static List<Duration> sorted(List<Duration> durations) {
+		List<Duration> sorted = new ArrayList<>(durations);
+		Collections.sort(sorted);
+		return sorted;
+	}
+
+	private static Duration median(List<Duration> sorted) {
+		return sorted.get(sorted.size() / 2);
+	}
+}
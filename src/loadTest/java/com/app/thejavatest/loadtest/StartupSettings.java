@@ -0,0 +1,47 @@
+package com.app.thejavatest.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// ./gradlew cdsArchive, startupBenchmark -Pstartup.xxx=... 로 넘어온 시스템 프로퍼티
+@Getter
+@RequiredArgsConstructor
+public class StartupSettings {
+
+	// 앱을 띄울 classpath (plain jar + 의존성 jar, CDS 아카이브를 만들 때와 같아야 한다)
+	private final String classpath;
+
+	private final Path archive;
+
+	private final int runs;
+
+	private final List<String> variants;
+
+	private final Path reportDir;
+
+	public static StartupSettings fromSystemProperties() {
+		String classpath = property("classpath", null);
+		if (classpath == null) {
+			throw new IllegalStateException("startup.classpath is not set, run through ./gradlew startupBenchmark");
+		}
+		return new StartupSettings(
+			classpath,
+			Paths.get(property("archive", "build/cds/app.jsa")),
+			Integer.parseInt(property("runs", "5")),
+			Arrays.stream(property("variants", "default,fast-startup,fast-startup-cds").split(","))
+				.map(String::trim)
+				.filter(name -> !name.isEmpty())
+				.collect(Collectors.toList()),
+			Paths.get(property("reportDir", "build/reports/startup")));
+	}
+
+	private static String property(String name, String defaultValue) {
+		return System.getProperty("startup." + name, defaultValue);
+	}
+}
@@ -0,0 +1,94 @@
+package com.app.thejavatest.datasource;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+
+/*
+	쓰기 직후의 읽기를 primary 로 고정한다. (read-your-writes)
+
+	ReadYourWritesFilter 가 요청마다 범위를 열고 닫는다.
+	- 요청에 COOKIE 가 있고 아직 유효하면 요청 내내 primary 로 읽는다.
+	- 요청 중에 쓰기 트랜잭션이 커넥션을 잡으면 그 뒤로 primary 로 읽고, 응답에 window 만큼 유효한 COOKIE 를 남긴다.
+		POST /study 로 만든 스터디를 바로 GET /study/{id} 해도 레플리카 지연에 걸리지 않는다.
+
+	요청 스레드 밖(StudyReader 의 조회 스레드 등)에서 도는 작업은 propagate 로 감싸야 같은 결정을 따른다.
+ */
+public final class ReadYourWrites {
+
+	public static final String COOKIE = "rw-primary-until";
+
+	private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+	private ReadYourWrites() {
+	}
+
+	public static boolean isPinned() {
+		Scope scope = SCOPE.get();
+		return scope != null && scope.pinned;
+	}
+
+	// 지금 스레드의 결정을 다른 스레드에서 도는 조회에 넘긴다.
+	public static <T> Supplier<T> propagate(Supplier<T> query) {
+		boolean pinned = isPinned();
+		return () -> {
+			Scope previous = SCOPE.get();
+			SCOPE.set(new Scope(pinned, null));
+			try {
+				return query.get();
+			} finally {
+				restore(previous);
+			}
+		};
+	}
+
+	static void begin(boolean pinned, HttpServletResponse response) {
+		SCOPE.set(new Scope(pinned, response));
+	}
+
+	static void end() {
+		SCOPE.remove();
+	}
+
+	// 요청 범위 밖의 쓰기(outbox 디스패처 등)는 고정할 대상이 없다.
+	static void written(Duration window) {
+		Scope scope = SCOPE.get();
+		if (scope == null) {
+			return;
+		}
+		scope.pinned = true;
+		if (scope.response == null || scope.cookieSent || scope.response.isCommitted()) {
+			return;
+		}
+		Cookie cookie = new Cookie(COOKIE, String.valueOf(System.currentTimeMillis() + window.toMillis()));
+		cookie.setMaxAge((int)Math.max(1, window.toSeconds()));
+		cookie.setPath("/");
+		cookie.setHttpOnly(true);
+		scope.response.addCookie(cookie);
+		scope.cookieSent = true;
+	}
+
+	private static void restore(Scope previous) {
+		if (previous == null) {
+			SCOPE.remove();
+		} else {
+			SCOPE.set(previous);
+		}
+	}
+
+	private static class Scope {
+
+		private boolean pinned;
+
+		private final HttpServletResponse response;
+
+		private boolean cookieSent;
+
+		Scope(boolean pinned, HttpServletResponse response) {
+			this.pinned = pinned;
+			this.response = response;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.app.thejavatest.datasource;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// 요청마다 ReadYourWrites 범위를 열고, 아직 유효한 쿠키가 있으면 primary 로 고정한다.
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+		throws ServletException, IOException {
+		ReadYourWrites.begin(recentlyWritten(request), response);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ReadYourWrites.end();
+		}
+	}
+
+	private boolean recentlyWritten(HttpServletRequest request) {
+		Cookie[] cookies = request.getCookies();
+		if (cookies == null) {
+			return false;
+		}
+		for (Cookie cookie : cookies) {
+			if (ReadYourWrites.COOKIE.equals(cookie.getName())) {
+				try {
+					return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+				} catch (NumberFormatException e) {
+					return false;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,117 @@
+package com.app.thejavatest.datasource;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/*
+	@Transactional(readOnly = true) 트랜잭션은 레플리카로, 나머지는 primary 로 보낸다.
+
+	트랜잭션 매니저는 readOnly 플래그를 세팅하기 전에 커넥션을 요청하므로
+	반드시 LazyConnectionDataSourceProxy 로 감싸서 첫 쿼리 때 커넥션을 고르게 해야 한다.
+
+	- 트랜잭션 없는 호출, 쓰기 트랜잭션: primary
+		쓰기 트랜잭션이 커넥션을 잡으면 ReadYourWrites 에 알려서 같은 클라이언트의 뒤따르는 읽기도 primary 로 보낸다.
+	- 읽기 전용 트랜잭션: ReadYourWrites 로 고정돼 있으면 primary, 아니면 selection 으로 고른 레플리카
+	- 레플리카가 없으면 모두 primary
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+	static final String PRIMARY = "primary";
+
+	private final DataSource primary;
+
+	private final List<DataSource> replicas;
+
+	private final ReplicaSelection selection;
+
+	private final Duration readYourWritesWindow;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(
+		DataSource primary,
+		List<DataSource> replicas,
+		ReplicaSelection selection,
+		Duration readYourWritesWindow
+	) {
+		this.primary = primary;
+		this.replicas = new ArrayList<>(replicas);
+		this.selection = selection;
+		this.readYourWritesWindow = readYourWritesWindow;
+
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		for (int i = 0; i < this.replicas.size(); i++) {
+			targets.put(i, this.replicas.get(i));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				ReadYourWrites.written(readYourWritesWindow);
+			}
+			return PRIMARY;
+		}
+		if (replicas.isEmpty() || ReadYourWrites.isPinned()) {
+			return PRIMARY;
+		}
+		return selectReplica();
+	}
+
+	@Override
+	public void close() {
+		closeQuietly(primary);
+		replicas.forEach(this::closeQuietly);
+	}
+
+	private int selectReplica() {
+		int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+		if (selection == ReplicaSelection.ROUND_ROBIN) {
+			return start;
+		}
+		// 사용 중인 커넥션 수가 같으면 돌아가며 고르도록 start 부터 본다.
+		int selected = start;
+		int least = Integer.MAX_VALUE;
+		for (int i = 0; i < replicas.size(); i++) {
+			int candidate = (start + i) % replicas.size();
+			int active = activeConnections(replicas.get(candidate));
+			if (active < least) {
+				least = active;
+				selected = candidate;
+			}
+		}
+		return selected;
+	}
+
+	private int activeConnections(DataSource dataSource) {
+		if (dataSource instanceof HikariDataSource) {
+			HikariPoolMXBean pool = ((HikariDataSource)dataSource).getHikariPoolMXBean();
+			return pool == null ? 0 : pool.getActiveConnections();
+		}
+		return 0;
+	}
+
+	private void closeQuietly(DataSource dataSource) {
+		if (dataSource instanceof HikariDataSource) {
+			((HikariDataSource)dataSource).close();
+		}
+	}
+}
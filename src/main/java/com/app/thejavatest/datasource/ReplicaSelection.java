@@ -0,0 +1,11 @@
+package com.app.thejavatest.datasource;
+
+// 읽기 전용 트랜잭션을 보낼 레플리카 고르는 방법 (datasource.routing.selection)
+public enum ReplicaSelection {
+
+	// 순서대로 돌아가며 고른다.
+	ROUND_ROBIN,
+
+	// 커넥션 풀에서 사용 중인 커넥션이 가장 적은 레플리카를 고른다.
+	LEAST_LOADED
+}
@@ -0,0 +1,85 @@
+package com.app.thejavatest.datasource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+	읽기/쓰기 DataSource 분리 (datasource.routing.enabled=true 일 때만)
+
+	DataSource 빈을 직접 등록하므로 스프링 부트의 DataSource 자동 설정은 빠지고,
+	JPA / JdbcTemplate 은 @Primary 인 dataSource (LazyConnectionDataSourceProxy -> ReplicaRoutingDataSource) 를 쓴다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfig {
+
+	@Bean(destroyMethod = "close")
+	public ReplicaRoutingDataSource routingDataSource(
+		DataSourceProperties primaryProperties,
+		RoutingDataSourceProperties routingProperties,
+		Environment environment
+	) {
+		HikariDataSource primary = createDataSource(primaryProperties, "primary");
+		// spring.datasource.hikari.* 는 primary 에만 적용된다.
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+		List<DataSource> replicas = new ArrayList<>();
+		for (DataSourceProperties replica : routingProperties.getReplicas()) {
+			replicas.add(createDataSource(replica, "replica-" + replicas.size()));
+		}
+		log.info("Routing read-only transactions to {} replica(s) ({})",
+			replicas.size(), routingProperties.getSelection());
+		return new ReplicaRoutingDataSource(primary, replicas, routingProperties.getSelection(),
+			routingProperties.getReadYourWritesWindow());
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+
+	/*
+		open-in-view 면 요청 동안 EntityManager 가 살아 있고, 스프링 기본값(DELAYED_ACQUISITION_AND_HOLD) 은 처음 받은 커넥션을 요청 끝까지 쥔다.
+		그러면 읽기 전용 조회로 레플리카 커넥션을 받은 요청이 뒤이어 쓸 때도 레플리카로 쓰고, ReadYourWrites 도 알지 못한다.
+		트랜잭션이 끝날 때마다 커넥션을 돌려줘서 트랜잭션마다 다시 고르게 한다.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+		return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+			PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+	}
+
+	@Bean
+	public ReadYourWritesFilter readYourWritesFilter() {
+		return new ReadYourWritesFilter();
+	}
+
+	private HikariDataSource createDataSource(DataSourceProperties properties, String poolName) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName(poolName);
+		return dataSource;
+	}
+}
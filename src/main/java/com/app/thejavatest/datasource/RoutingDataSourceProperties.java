@@ -0,0 +1,32 @@
+package com.app.thejavatest.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/*
+	datasource.routing.*
+
+	primary 는 기존 spring.datasource.* (hikari 포함) 를 그대로 쓰고,
+	replicas 는 spring.datasource 와 같은 url / username / password / driver-class-name 으로 적는다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("datasource.routing")
+public class RoutingDataSourceProperties {
+
+	private boolean enabled;
+
+	private List<DataSourceProperties> replicas = new ArrayList<>();
+
+	private ReplicaSelection selection = ReplicaSelection.ROUND_ROBIN;
+
+	// 쓰기 후 이 시간 동안은 같은 클라이언트의 읽기도 primary 로 보낸다.
+	private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,37 @@
+package com.app.thejavatest.datasource;
+
+import org.hibernate.BaseSessionEventListener;
+
+/*
+	JDBC 실행 시간을 현재 요청의 SqlStatementStats 에 더한다.
+
+	hibernate.session.events.auto 로 세션마다 새로 만들어지고, 세션은 한 스레드에서만 쓰이므로 시작 시각을 필드에 둔다.
+ */
+public class SqlExecutionListener extends BaseSessionEventListener {
+
+	private long executionStart;
+
+	private long batchStart;
+
+	@Override
+	public void jdbcExecuteStatementStart() {
+		executionStart = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteStatementEnd() {
+		long nanos = System.nanoTime() - executionStart;
+		SqlStatementStats.current().ifPresent(stats -> stats.executed(nanos));
+	}
+
+	@Override
+	public void jdbcExecuteBatchStart() {
+		batchStart = System.nanoTime();
+	}
+
+	@Override
+	public void jdbcExecuteBatchEnd() {
+		long nanos = System.nanoTime() - batchStart;
+		SqlStatementStats.current().ifPresent(stats -> stats.executed(nanos));
+	}
+}
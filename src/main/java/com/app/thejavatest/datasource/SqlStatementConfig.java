@@ -0,0 +1,38 @@
+package com.app.thejavatest.datasource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+	요청별 SQL 수 / row 수 / 실행 시간 (datasource.statements.*)
+
+	Hibernate 를 거치는 SQL 만 센다. (시퀀스 조회, @Modifying 쿼리 포함)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.statements.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementConfig {
+
+	@Bean
+	public HibernatePropertiesCustomizer sqlStatementHibernatePropertiesCustomizer() {
+		SqlStatementInterceptor interceptor = new SqlStatementInterceptor();
+		return properties -> {
+			properties.put(AvailableSettings.STATEMENT_INSPECTOR, interceptor);
+			properties.put(AvailableSettings.INTERCEPTOR, interceptor);
+			properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlExecutionListener.class.getName());
+		};
+	}
+
+	@Bean
+	public SqlStatementFilter sqlStatementFilter(
+		MeterRegistry meterRegistry,
+		@Value("${datasource.statements.repeated-select-threshold:10}") int repeatedSelectThreshold
+	) {
+		return new SqlStatementFilter(meterRegistry, repeatedSelectThreshold);
+	}
+}
@@ -0,0 +1,99 @@
+package com.app.thejavatest.datasource;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+	요청마다 SqlStatementStats 를 열고, 끝나면 method / uri 별 메트릭으로 남긴다.
+
+	http.server.sql.statements, http.server.sql.rows (DistributionSummary), http.server.sql.time (Timer)
+	같은 select 가 repeated-select-threshold 번 이상 반복되면 N+1 로 보고 경고 로그와 http.server.sql.repeated-selects 를 남긴다.
+
+	비동기 요청(/async/**) 은 처음 dispatch 에서 만든 stats 를 request attribute 로 넘겨서 결과를 쓰는 async dispatch 에서도 이어서 쓰고,
+	요청이 정말 끝나는 마지막 dispatch 에서 한번만 기록한다. executor 스레드에서 실행한 SQL 은 SqlStatementStats.propagate 로 센다.
+ */
+@Slf4j
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+	public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+
+	public static final String ROWS_HEADER = "X-Sql-Rows";
+
+	static final String STATS_ATTRIBUTE = SqlStatementFilter.class.getName() + ".stats";
+
+	static final String STATEMENTS = "http.server.sql.statements";
+
+	static final String ROWS = "http.server.sql.rows";
+
+	static final String TIME = "http.server.sql.time";
+
+	static final String REPEATED_SELECTS = "http.server.sql.repeated-selects";
+
+	private final MeterRegistry meterRegistry;
+
+	private final int repeatedSelectThreshold;
+
+	public SqlStatementFilter(MeterRegistry meterRegistry, int repeatedSelectThreshold) {
+		this.meterRegistry = meterRegistry;
+		this.repeatedSelectThreshold = repeatedSelectThreshold;
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+		throws ServletException, IOException {
+		SqlStatementStats stats = (SqlStatementStats)request.getAttribute(STATS_ATTRIBUTE);
+		if (stats == null) {
+			stats = SqlStatementStats.begin();
+			request.setAttribute(STATS_ATTRIBUTE, stats);
+		} else {
+			SqlStatementStats.resume(stats);
+		}
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			SqlStatementStats.end();
+			if (!isAsyncStarted(request)) {
+				record(request, stats);
+			}
+		}
+	}
+
+	private void record(HttpServletRequest request, SqlStatementStats stats) {
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+		Tags tags = Tags.of("method", request.getMethod(), "uri", uri);
+
+		DistributionSummary.builder(STATEMENTS).tags(tags).register(meterRegistry).record(stats.getStatements());
+		DistributionSummary.builder(ROWS).tags(tags).register(meterRegistry).record(stats.getRows());
+		Timer.builder(TIME).tags(tags).register(meterRegistry).record(stats.getExecutionTime());
+
+		stats.mostRepeatedSelect()
+			.filter(select -> select.getValue() >= repeatedSelectThreshold)
+			.ifPresent(select -> reportRepeatedSelect(request.getMethod(), uri, tags, select));
+	}
+
+	private void reportRepeatedSelect(String method, String uri, Tags tags, Map.Entry<String, Integer> select) {
+		meterRegistry.counter(REPEATED_SELECTS, tags).increment();
+		log.warn("Possible N+1 in {} {}: same select executed {} times: {}",
+			method, uri, select.getValue(), select.getKey());
+	}
+}
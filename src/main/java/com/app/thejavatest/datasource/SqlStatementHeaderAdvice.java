@@ -0,0 +1,47 @@
+package com.app.thejavatest.datasource;
+
+import java.util.Locale;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/*
+	응답 본문을 쓰기 직전에 지금까지 실행한 SQL 수를 헤더로 붙인다. (datasource.statements.response-header)
+
+	X-Sql-Statements, X-Sql-Rows, Server-Timing: sql;dur=<ms>
+	본문을 쓰고 나면 헤더를 바꿀 수 없어서 필터가 아니라 여기서 붙인다.
+	304 처럼 본문이 없는 응답이나 응답 스트림에 직접 쓰는 /studies/export 에는 붙지 않는다.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "datasource.statements.response-header", havingValue = "true")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+	@Override
+	public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+		return true;
+	}
+
+	@Override
+	public Object beforeBodyWrite(
+		Object body,
+		MethodParameter returnType,
+		MediaType selectedContentType,
+		Class<? extends HttpMessageConverter<?>> selectedConverterType,
+		ServerHttpRequest request,
+		ServerHttpResponse response
+	) {
+		SqlStatementStats.current().ifPresent(stats -> {
+			response.getHeaders().set(SqlStatementFilter.STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+			response.getHeaders().set(SqlStatementFilter.ROWS_HEADER, String.valueOf(stats.getRows()));
+			response.getHeaders().add("Server-Timing",
+				String.format(Locale.ROOT, "sql;dur=%.2f", stats.getExecutionTime().toNanos() / 1_000_000.0));
+		});
+		return body;
+	}
+}
@@ -0,0 +1,23 @@
+package com.app.thejavatest.datasource;
+
+import java.io.Serializable;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+
+// 준비되는 SQL 마다, 로딩되는 엔티티마다 현재 요청의 SqlStatementStats 를 늘린다.
+public class SqlStatementInterceptor extends EmptyInterceptor implements StatementInspector {
+
+	@Override
+	public String inspect(String sql) {
+		SqlStatementStats.current().ifPresent(stats -> stats.statement(sql));
+		return sql;
+	}
+
+	@Override
+	public boolean onLoad(Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+		SqlStatementStats.current().ifPresent(SqlStatementStats::rowLoaded);
+		return false;
+	}
+}
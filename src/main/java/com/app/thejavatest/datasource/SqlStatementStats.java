@@ -0,0 +1,104 @@
+package com.app.thejavatest.datasource;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/*
+	요청 하나가 Hibernate 로 실행한 SQL 수, 읽은 row(엔티티) 수, 실행 시간
+
+	SqlStatementFilter 가 요청마다 만들고, SqlStatementInterceptor / SqlExecutionListener 가 채운다.
+	요청 스레드 밖(StudyReader 의 조회 스레드 등)에서 도는 조회는 propagate 로 감싸야 같은 요청으로 센다.
+	hedge 나 timeout 으로 버려진 조회가 요청이 끝난 뒤에 더할 수도 있으므로 값은 원자적으로 늘린다.
+ */
+public class SqlStatementStats {
+
+	private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+	private final AtomicInteger statements = new AtomicInteger();
+
+	private final AtomicLong rows = new AtomicLong();
+
+	private final AtomicLong executionNanos = new AtomicLong();
+
+	// N+1 은 같은 select 가 파라미터만 바꿔서 반복된다.
+	private final Map<String, AtomicInteger> selects = new ConcurrentHashMap<>();
+
+	public static Optional<SqlStatementStats> current() {
+		return Optional.ofNullable(CURRENT.get());
+	}
+
+	public static <T> Supplier<T> propagate(Supplier<T> query) {
+		SqlStatementStats stats = CURRENT.get();
+		if (stats == null) {
+			return query;
+		}
+		return () -> {
+			SqlStatementStats previous = CURRENT.get();
+			CURRENT.set(stats);
+			try {
+				return query.get();
+			} finally {
+				if (previous == null) {
+					CURRENT.remove();
+				} else {
+					CURRENT.set(previous);
+				}
+			}
+		};
+	}
+
+	static SqlStatementStats begin() {
+		SqlStatementStats stats = new SqlStatementStats();
+		CURRENT.set(stats);
+		return stats;
+	}
+
+	// 같은 요청의 async dispatch 에서 이어서 센다. (SqlStatementFilter)
+	static void resume(SqlStatementStats stats) {
+		CURRENT.set(stats);
+	}
+
+	static void end() {
+		CURRENT.remove();
+	}
+
+	void statement(String sql) {
+		statements.incrementAndGet();
+		if (sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+			selects.computeIfAbsent(sql, key -> new AtomicInteger()).incrementAndGet();
+		}
+	}
+
+	void rowLoaded() {
+		rows.incrementAndGet();
+	}
+
+	void executed(long nanos) {
+		executionNanos.addAndGet(nanos);
+	}
+
+	public int getStatements() {
+		return statements.get();
+	}
+
+	public long getRows() {
+		return rows.get();
+	}
+
+	public Duration getExecutionTime() {
+		return Duration.ofNanos(executionNanos.get());
+	}
+
+	// 가장 많이 반복된 select 와 그 횟수
+	public Optional<Map.Entry<String, Integer>> mostRepeatedSelect() {
+		return selects.entrySet().stream()
+			.map(entry -> Map.entry(entry.getKey(), entry.getValue().get()))
+			.max(Map.Entry.comparingByValue());
+	}
+}
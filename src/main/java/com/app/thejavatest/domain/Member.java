@@ -2,18 +2,26 @@ package com.app.thejavatest.domain;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
 
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+// MemberService.findByEmail
+@Table(indexes = @Index(name = "idx_member_email", columnList = "email", unique = true))
 @Getter @Setter @NoArgsConstructor
 public class Member {
 
+	// allocationSize 만큼 id 를 한번에 할당받아(pooled) insert 마다 시퀀스를 조회하지 않는다.
 	@Id
-	@GeneratedValue
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq")
+	@SequenceGenerator(name = "member_seq", sequenceName = "member_seq", allocationSize = 100)
 	private Long id;
 
 	private String email;
@@ -0,0 +1,74 @@
+package com.app.thejavatest.domain;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/*
+	MemberService.notify 로 보낼 알림을 스터디 저장과 같은 트랜잭션에서 쌓아두는 outbox
+
+	PENDING 상태이고 nextAttemptAt 이 지난 알림을 dispatcher 가 가져가서 보낸다. 같은 스터디에 앞선 PENDING 알림이 있으면 그 알림이 끝날 때까지 기다린다.
+	가져갈 때 nextAttemptAt 을 lease 만큼 미뤄두기 때문에, 보내는 도중 죽어도 lease 가 지나면 다시 보낸다.
+ */
+@Entity
+@Table(indexes = {
+	@Index(name = "idx_notification_outbox_dispatch", columnList = "status, nextAttemptAt, id"),
+	@Index(name = "idx_notification_outbox_study", columnList = "studyId, status, id")
+})
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class NotificationOutbox {
+
+	public enum Type {
+		STUDY_CREATED, STUDY_OPENED
+	}
+
+	public enum Status {
+		PENDING, SENT, FAILED
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_outbox_seq")
+	@SequenceGenerator(name = "notification_outbox_seq", sequenceName = "notification_outbox_seq", allocationSize = 100)
+	private Long id;
+
+	private Long studyId;
+
+	@Enumerated(EnumType.STRING)
+	private Type type;
+
+	@Enumerated(EnumType.STRING)
+	private Status status = Status.PENDING;
+
+	private int attempts;
+
+	private LocalDateTime createdAt;
+
+	private LocalDateTime nextAttemptAt;
+
+	private LocalDateTime sentAt;
+
+	private String lastError;
+
+	public NotificationOutbox(Type type, Long studyId) {
+		this.type = type;
+		this.studyId = studyId;
+		this.createdAt = LocalDateTime.now();
+		this.nextAttemptAt = this.createdAt;
+	}
+}
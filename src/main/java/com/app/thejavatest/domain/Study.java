@@ -2,9 +2,19 @@ package com.app.thejavatest.domain;
 
 import java.time.LocalDateTime;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,14 +22,18 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+// GET /studies keyset 페이징 (status, openedDateTime, id) 순서 그대로 인덱스를 탄다.
+@Table(indexes = @Index(name = "idx_study_status_opened_id", columnList = "status, openedDateTime, id"))
 @Getter
 @Setter
 @ToString
 @NoArgsConstructor
 public class Study {
 
+	// allocationSize 만큼 id 를 한번에 할당받아(pooled) insert 마다 시퀀스를 조회하지 않는다.
 	@Id
-	@GeneratedValue
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_seq")
+	@SequenceGenerator(name = "study_seq", sequenceName = "study_seq", allocationSize = 100)
 	private Long id;
 
 	private StudyStatus status = StudyStatus.DRAFT;
@@ -32,6 +46,18 @@ public class Study {
 
 	private Long ownerId;
 
+	// 참여 인원. limitCount 를 넘지 않도록 StudyRepository.incrementEnrolledCount 로만 늘린다.
+	// 요청 본문으로 받지 않고, 엔티티를 저장(insert, merge) 할 때도 컬럼에 쓰지 않는다. (음수로 만들거나 0 으로 되돌리지 못하게)
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	@Column(insertable = false, updatable = false)
+	@ColumnDefault("0")
+	private int enrolledCount;
+
+	// 낙관적 락. 기존 row 에도 컬럼을 추가할 수 있도록 기본값 0
+	@Version
+	@ColumnDefault("0")
+	private long version;
+
 	public Study(
 		int limitCount,
 		String name
@@ -0,0 +1,41 @@
+package com.app.thejavatest.domain;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 스터디 참여 기록. 같은 멤버가 같은 스터디에 두번 들어가지 못하도록 유니크 제약을 건다.
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_study_member_study_member", columnNames = {"studyId", "memberId"}))
+@Getter
+@ToString
+@NoArgsConstructor
+public class StudyMember {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_member_seq")
+	@SequenceGenerator(name = "study_member_seq", sequenceName = "study_member_seq", allocationSize = 100)
+	private Long id;
+
+	private Long studyId;
+
+	private Long memberId;
+
+	private LocalDateTime enrolledAt;
+
+	public StudyMember(Long studyId, Long memberId) {
+		this.studyId = studyId;
+		this.memberId = memberId;
+		this.enrolledAt = LocalDateTime.now();
+	}
+}
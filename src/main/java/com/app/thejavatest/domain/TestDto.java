@@ -1,5 +1,14 @@
 package com.app.thejavatest.domain;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.PropertyValueBuffer;
+
 import lombok.Getter;
 
 // getter or setter 둘중 하나라도 있어야 컨트롤러에서 매핑이된다. + 생성자도 필수
@@ -15,11 +24,41 @@ public class TestDto {
 	// private 도 받아진다?!
 	// Reflection은 접근 제어자와 상관 없이 클래스 객체를 동적으로 생성하는(런타임 시점) Java API이다.
 	// Reflection은 무조건 기본 생성자가 필요하다. (java Reflection이 가져올 수 없는 정보 중 하나가 바로 생성자의 인자 정보들)
+	// -> 지금은 @JsonCreator 로 어떤 생성자에 어떤 이름으로 바인딩할지 직접 적어준다. (파라미터 이름/생성자 탐색에 기대지 않음)
+	// -> Blackbird 는 기본 생성자만 생성 코드로 바꿔준다. 이 생성자는 아래 Instantiator 가 직접 호출한다. (JsonBindingGuardTest)
+	@JsonCreator
 	private TestDto(
-		String name,
-		Integer age
+		@JsonProperty("name") String name,
+		@JsonProperty("age") Integer age
 	) {
 		this.name = name;
 		this.age = age;
 	}
+
+	// 역직렬화할 때 @JsonCreator 생성자를 Constructor.newInstance 대신 직접 호출한다. (study.TestDtoJsonModule 이 끼워 넣는다)
+	// 인자 목록/순서는 Jackson 이 찾은 기본 instantiator 것을 그대로 쓴다. (name, age)
+	public static class Instantiator extends ValueInstantiator.Delegating {
+
+		public Instantiator(ValueInstantiator delegate) {
+			super(delegate);
+		}
+
+		@Override
+		public ValueInstantiator createContextual(DeserializationContext context, BeanDescription beanDesc)
+			throws JsonMappingException {
+			ValueInstantiator delegate = delegate().createContextual(context, beanDesc);
+			return delegate == delegate() ? this : new Instantiator(delegate);
+		}
+
+		@Override
+		public Object createFromObjectWith(DeserializationContext context, Object[] args) {
+			return new TestDto((String)args[0], (Integer)args[1]);
+		}
+
+		@Override
+		public Object createFromObjectWith(DeserializationContext context, SettableBeanProperty[] properties,
+			PropertyValueBuffer buffer) throws JsonMappingException {
+			return createFromObjectWith(context, buffer.getParameters(properties));
+		}
+	}
 }
@@ -0,0 +1,60 @@
+package com.app.thejavatest.execution;
+
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+	요청 처리 방식 (study.execution.mode)
+
+	platform (기본): 톰캣 기본 스레드 풀 (server.tomcat.threads.max)
+	virtual: 톰캣 요청 스레드를 가상 스레드로 바꾼다. repository 호출도 그 가상 스레드에서 블로킹된다. (Java 21 이상)
+	async: /async/** 엔드포인트가 요청 스레드를 바로 돌려주고, 크기가 제한된 executor 에서 CompletableFuture 로 처리한다.
+ */
+@Slf4j
+@Configuration
+public class ExecutionModeConfig {
+
+	public static final String ASYNC_EXECUTOR = "studyAsyncExecutor";
+
+	@Bean(destroyMethod = "shutdown")
+	@ConditionalOnProperty(name = "study.execution.mode", havingValue = "virtual")
+	public ExecutorService virtualThreadExecutor() {
+		log.info("Handling requests on virtual threads");
+		return VirtualThreads.newVirtualThreadPerTaskExecutor();
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "study.execution.mode", havingValue = "virtual")
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+		ExecutorService virtualThreadExecutor
+	) {
+		return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+	}
+
+	// 큐까지 차면 TaskRejectedException -> 503
+	@Bean(ASYNC_EXECUTOR)
+	@ConditionalOnProperty(name = "study.execution.mode", havingValue = "async")
+	public ThreadPoolTaskExecutor studyAsyncExecutor(
+		@Value("${study.execution.async.core-size:50}") int coreSize,
+		@Value("${study.execution.async.max-size:200}") int maxSize,
+		@Value("${study.execution.async.queue-capacity:1000}") int queueCapacity
+	) {
+		log.info("Handling /async requests on a bounded executor ({}-{} threads, queue {})",
+			coreSize, maxSize, queueCapacity);
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(coreSize);
+		executor.setMaxPoolSize(maxSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("study-async-");
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		return executor;
+	}
+}
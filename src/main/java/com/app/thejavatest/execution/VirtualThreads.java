@@ -0,0 +1,22 @@
+package com.app.thejavatest.execution;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// sourceCompatibility 11 로 빌드하므로 가상 스레드 API 는 런타임에 찾아서 쓴다.
+final class VirtualThreads {
+
+	private VirtualThreads() {
+	}
+
+	static ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			return (ExecutorService)Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(
+				"study.execution.mode=virtual needs Java 21 or later, running on " + Runtime.version(), e);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Could not create virtual thread executor", e);
+		}
+	}
+}
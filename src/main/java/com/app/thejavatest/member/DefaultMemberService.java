@@ -0,0 +1,107 @@
+package com.app.thejavatest.member;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.app.thejavatest.domain.Member;
+import com.app.thejavatest.domain.Study;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+	Member 엔티티 기반 MemberService
+
+	- 최근에 조회한 멤버를 id 로 캐시한다. (maximumSize + expireAfterWrite)
+		스터디를 만들 때마다 하는 멤버 조회/검증이 대부분 캐시에서 끝난다.
+	- findAllById 는 캐시에 없는 id 만 모아서 한번에 조회한다.
+	- 없는 멤버는 캐시하지 않는다. (새로 가입한 멤버가 바로 보이도록)
+	- 캐시된 Member 는 여러 요청이 같이 보는 인스턴스이므로 꺼내서 수정하면 안된다.
+	- hit/miss/eviction 은 /actuator/metrics/cache.gets?tag=cache:member 등으로 확인 가능.
+ */
+@Slf4j
+@Service
+public class DefaultMemberService implements MemberService {
+
+	static final String CACHE_NAME = "member";
+
+	private final MemberRepository memberRepository;
+
+	private final Cache<Long, Member> cache;
+
+	public DefaultMemberService(
+		MemberRepository memberRepository,
+		MeterRegistry meterRegistry,
+		@Value("${member.cache.max-size:10000}") long maxSize,
+		@Value("${member.cache.ttl:10m}") Duration ttl
+	) {
+		this.memberRepository = memberRepository;
+		this.cache = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(ttl)
+			.recordStats()
+			.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	@Override
+	public Optional<Member> findById(Long memberId) {
+		if (memberId == null) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(cache.get(memberId, id -> memberRepository.findById(id).orElse(null)));
+	}
+
+	@Override
+	public List<Member> findAllById(Collection<Long> memberIds) {
+		Set<Long> ids = memberIds.stream()
+			.filter(id -> id != null)
+			.collect(Collectors.toSet());
+		return new ArrayList<>(cache.getAll(ids, missing -> loadAll(missing)).values());
+	}
+
+	@Override
+	public Optional<Member> findByEmail(String email) {
+		Optional<Member> member = memberRepository.findByEmail(email);
+		member.ifPresent(found -> cache.put(found.getId(), found));
+		return member;
+	}
+
+	@Override
+	public void validate(Long memberId) {
+		if (findById(memberId).isEmpty()) {
+			throw new IllegalArgumentException("Member doesn't exist for id: '" + memberId + "'");
+		}
+	}
+
+	// 아직 보낼 채널이 없어서 로그로 남긴다.
+	@Override
+	public void notify(Study newstudy) {
+		log.info("notify study {} ({}) to owner {}", newstudy.getId(), newstudy.getStatus(), newstudy.getOwnerId());
+	}
+
+	@Override
+	public void notify(Member member) {
+		log.info("notify member {}", member.getId());
+	}
+
+	private Map<Long, Member> loadAll(Iterable<? extends Long> ids) {
+		List<Long> missing = new ArrayList<>();
+		ids.forEach(missing::add);
+		return memberRepository.findAllById(missing).stream()
+			.collect(Collectors.toMap(Member::getId, Function.identity()));
+	}
+}
@@ -1,5 +1,7 @@
 package com.app.thejavatest.member;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import com.app.thejavatest.domain.Member;
@@ -9,6 +11,11 @@ public interface MemberService {
 
 	Optional<Member> findById(Long memberId);
 
+	// 없는 id 는 결과에서 빠진다.
+	List<Member> findAllById(Collection<Long> memberIds);
+
+	Optional<Member> findByEmail(String email);
+
 	void validate(Long memberId);
 
 	void notify(Study newstudy);
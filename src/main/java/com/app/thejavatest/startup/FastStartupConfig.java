@@ -0,0 +1,22 @@
+package com.app.thejavatest.startup;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+	spring.main.lazy-initialization=true (fast-startup 프로필) 에서도 시작할 때 만드는 빈
+
+	entityManagerFactory: spring.data.jpa.repositories.bootstrap-mode=deferred 면 Hibernate 초기화가 백그라운드에서 돈다.
+	lazy 로 두면 컨텍스트가 다 뜬 뒤 repository 초기화 때 처음 만들어서 다른 빈들과 겹쳐 돌지 않는다.
+	study 패키지의 빈은 StudyStartupConfig
+ */
+@Configuration
+public class FastStartupConfig {
+
+	// BeanFactoryPostProcessor 가 쓰므로 static
+	@Bean
+	static LazyInitializationExcludeFilter eagerEntityManagerFactory() {
+		return (beanName, beanDefinition, beanType) -> "entityManagerFactory".equals(beanName);
+	}
+}
@@ -0,0 +1,60 @@
+package com.app.thejavatest.startup;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.boot.logging.DeferredLogFactory;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.metrics.ApplicationStartup;
+
+/*
+	fast-startup 프로필 (active 든 include 든) 일 때만 하는 일
+
+	- 시작 단계 타임라인을 BufferingApplicationStartup 에 모은다. (/actuator/startup)
+		다른 프로필에서는 기본 ApplicationStartup (아무것도 안 남김) 그대로 둔다.
+		컨텍스트를 만들기 전에 바꾸므로 빈 생성 단계는 모두 남고, 그 앞의 starting / environment-prepared 단계만 빠진다.
+	- 카오스 멍키가 꺼져 있으면 (chaos.monkey.enabled=false) chaos-monkey 프로필을 뺀다.
+
+	chaos-monkey 프로필이 켜져 있으면 공격이 꺼져 있어도 watcher(repository 등의 AOP 프록시), assault, actuator endpoint 빈을 모두 만든다.
+	공격이 필요하면 chaos.monkey.enabled=true 로 띄운다. 그때만 chaos-monkey 프로필이 남는다.
+	application.yml 설정을 읽은 뒤에 프로필을 봐야 하므로 ConfigDataEnvironmentPostProcessor 보다 뒤에 돈다. (기본 순서)
+ */
+public class FastStartupEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+	public static final String PROFILE = "fast-startup";
+
+	static final String CHAOS_MONKEY_PROFILE = "chaos-monkey";
+
+	// 시작 단계 타임라인으로 남길 최대 단계 수
+	static final int STARTUP_STEPS = 4096;
+
+	private final Log log;
+
+	public FastStartupEnvironmentPostProcessor(DeferredLogFactory logFactory) {
+		this.log = logFactory.getLog(FastStartupEnvironmentPostProcessor.class);
+	}
+
+	@Override
+	public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+		List<String> profiles = Arrays.asList(environment.getActiveProfiles());
+		if (!profiles.contains(PROFILE)) {
+			return;
+		}
+		if (application.getApplicationStartup() == ApplicationStartup.DEFAULT) {
+			application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		}
+		if (!profiles.contains(CHAOS_MONKEY_PROFILE)
+			|| environment.getProperty("chaos.monkey.enabled", Boolean.class, false)) {
+			return;
+		}
+		environment.setActiveProfiles(profiles.stream()
+			.filter(profile -> !CHAOS_MONKEY_PROFILE.equals(profile))
+			.toArray(String[]::new));
+		log.info("Chaos Monkey is disabled, skipping the " + CHAOS_MONKEY_PROFILE
+			+ " profile (start with chaos.monkey.enabled=true to wire it)");
+	}
+}
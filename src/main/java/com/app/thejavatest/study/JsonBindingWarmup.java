@@ -0,0 +1,57 @@
+package com.app.thejavatest.study;
+
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.domain.TestDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+	요청/응답 DTO 의 (역)직렬화기를 톰캣이 요청을 받기 전에 만들어 둔다.
+
+	ObjectMapper 는 타입별 (역)직렬화기를 처음 쓸 때 introspection 하고 (Blackbird 면 accessor 클래스도 생성) 캐시한다.
+	첫 요청들이 그 비용을 내지 않도록 컨버터별 ObjectMapper 에서 readerFor/writerFor 를 한번씩 호출한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JsonBindingWarmup implements SmartInitializingSingleton {
+
+	// @RequestBody 로 받는 타입
+	static final List<JavaType> REQUEST_TYPES = List.of(
+		TypeFactory.defaultInstance().constructType(Study.class),
+		TypeFactory.defaultInstance().constructCollectionType(List.class, Study.class),
+		TypeFactory.defaultInstance().constructType(TestDto.class)
+	);
+
+	static final List<JavaType> RESPONSE_TYPES = List.of(
+		TypeFactory.defaultInstance().constructType(Study.class),
+		TypeFactory.defaultInstance().constructType(TestDto.class),
+		TypeFactory.defaultInstance().constructType(StudyPage.class),
+		TypeFactory.defaultInstance().constructType(StudyBatchResult.class)
+	);
+
+	private final ObjectProvider<AbstractJackson2HttpMessageConverter> converters;
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		long start = System.nanoTime();
+		converters.orderedStream().forEach(converter -> warmUp(converter.getObjectMapper()));
+		log.info("Prepared JSON bindings in {}ms", (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private void warmUp(ObjectMapper objectMapper) {
+		REQUEST_TYPES.forEach(objectMapper::readerFor);
+		RESPONSE_TYPES.forEach(objectMapper::writerFor);
+	}
+}
@@ -0,0 +1,10 @@
+package com.app.thejavatest.study;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// NotificationOutboxDispatcher 의 @Scheduled 폴링을 켠다.
+@Configuration
+@EnableScheduling
+public class NotificationOutboxConfig {
+}
@@ -0,0 +1,173 @@
+package com.app.thejavatest.study;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.thejavatest.domain.NotificationOutbox;
+import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.member.MemberService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/*
+	outbox 에 쌓인 알림을 요청 스레드 밖에서 MemberService.notify 로 보낸다.
+
+	- 한번에 스터디마다 맨 앞 알림 하나씩, batch-size 만큼 가져와서 concurrency 개의 스레드에서 동시에 보낸다.
+	- 같은 스터디의 알림은 앞 알림이 SENT 나 FAILED 가 된 뒤에야 가져가므로 id 순서대로 나간다. (NotificationOutboxRepository.findDispatchable)
+	  앞 알림이 실패해서 backoff 중이면 뒤 알림도 그동안 기다린다.
+	- 실패하면 backoff 를 두 배씩 늘려가며 max-attempts 까지 재시도하고, 그 이후에는 FAILED 로 남긴다.
+	- MemberService 구현체가 없으면 보내지 않고 쌓아만 둔다.
+ */
+@Slf4j
+@Component
+public class NotificationOutboxDispatcher {
+
+	private static final int MAX_ERROR_LENGTH = 255;
+
+	private final NotificationOutboxRepository outboxRepository;
+
+	private final StudyRepository studyRepository;
+
+	private final ObjectProvider<MemberService> memberServiceProvider;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ExecutorService executor;
+
+	private final int batchSize;
+
+	private final int maxAttempts;
+
+	private final Duration lease;
+
+	private final Duration backoff;
+
+	private final Duration maxBackoff;
+
+	public NotificationOutboxDispatcher(
+		NotificationOutboxRepository outboxRepository,
+		StudyRepository studyRepository,
+		ObjectProvider<MemberService> memberServiceProvider,
+		PlatformTransactionManager transactionManager,
+		@Value("${study.outbox.batch-size:100}") int batchSize,
+		@Value("${study.outbox.concurrency:4}") int concurrency,
+		@Value("${study.outbox.max-attempts:10}") int maxAttempts,
+		@Value("${study.outbox.lease:30s}") Duration lease,
+		@Value("${study.outbox.backoff:1s}") Duration backoff,
+		@Value("${study.outbox.max-backoff:5m}") Duration maxBackoff
+	) {
+		this.outboxRepository = outboxRepository;
+		this.studyRepository = studyRepository;
+		this.memberServiceProvider = memberServiceProvider;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.executor = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("outbox-dispatcher-"));
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.lease = lease;
+		this.backoff = backoff;
+		this.maxBackoff = maxBackoff;
+	}
+
+	// 한번 돌 때 보낼 수 있는 알림을 다 비운다. 같은 스터디의 다음 알림은 다음 dispatch 에서 가져간다.
+	@Scheduled(fixedDelayString = "${study.outbox.poll-interval:1000}")
+	public void poll() {
+		while (dispatch() > 0) {
+			log.debug("outbox backlog remains, dispatching next batch");
+		}
+	}
+
+	public int dispatch() {
+		MemberService memberService = memberServiceProvider.getIfAvailable();
+		if (memberService == null) {
+			return 0;
+		}
+		List<NotificationOutbox> claimed = claim();
+		if (claimed.isEmpty()) {
+			return 0;
+		}
+
+		Map<Long, Study> studies = studyRepository.findAllById(
+				claimed.stream().map(NotificationOutbox::getStudyId).distinct().collect(Collectors.toList()))
+			.stream()
+			.collect(Collectors.toMap(Study::getId, Function.identity()));
+
+		CompletableFuture<?>[] deliveries = claimed.stream()
+			.map(event -> CompletableFuture.runAsync(() -> deliver(event, studies, memberService), executor))
+			.toArray(CompletableFuture[]::new);
+		CompletableFuture.allOf(deliveries).join();
+		return claimed.size();
+	}
+
+	// 가져간 알림은 lease 동안 다른 dispatcher 가 가져가지 못한다.
+	private List<NotificationOutbox> claim() {
+		return transactionTemplate.execute(status -> {
+			LocalDateTime now = LocalDateTime.now();
+			List<NotificationOutbox> events = outboxRepository.findDispatchable(
+				NotificationOutbox.Status.PENDING, now, PageRequest.of(0, batchSize));
+			events.forEach(event -> event.setNextAttemptAt(now.plus(lease)));
+			return events;
+		});
+	}
+
+	private void deliver(NotificationOutbox event, Map<Long, Study> studies, MemberService memberService) {
+		try {
+			Study study = studies.get(event.getStudyId());
+			if (study == null) {
+				throw new IllegalStateException("Study not found for '" + event.getStudyId() + "'");
+			}
+			memberService.notify(study);
+			outboxRepository.markSent(List.of(event.getId()), NotificationOutbox.Status.SENT, LocalDateTime.now());
+		} catch (RuntimeException e) {
+			markFailed(event, e);
+		}
+	}
+
+	private void markFailed(NotificationOutbox event, RuntimeException e) {
+		int attempts = event.getAttempts() + 1;
+		LocalDateTime now = LocalDateTime.now();
+		String error = String.valueOf(e.getMessage());
+		if (error.length() > MAX_ERROR_LENGTH) {
+			error = error.substring(0, MAX_ERROR_LENGTH);
+		}
+
+		if (attempts >= maxAttempts) {
+			log.error("Notification {} for study {} failed {} times, giving up", event.getId(), event.getStudyId(),
+				attempts, e);
+			outboxRepository.markFailed(event.getId(), NotificationOutbox.Status.FAILED, now, error);
+			return;
+		}
+
+		LocalDateTime nextAttemptAt = now.plus(backoffFor(attempts));
+		log.warn("Notification {} for study {} failed (attempt {}), retry at {}", event.getId(), event.getStudyId(),
+			attempts, nextAttemptAt, e);
+		outboxRepository.markFailed(event.getId(), NotificationOutbox.Status.PENDING, nextAttemptAt, error);
+	}
+
+	private Duration backoffFor(int attempts) {
+		Duration delay = backoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+		return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+}
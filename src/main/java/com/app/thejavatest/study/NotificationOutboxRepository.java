@@ -0,0 +1,60 @@
+package com.app.thejavatest.study;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.thejavatest.domain.NotificationOutbox;
+
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+
+	/*
+		스터디마다 아직 보내지 않은 알림 중 맨 앞(id 가 가장 작은) 알림만 가져온다.
+		앞 알림이 backoff 중이거나 다른 dispatcher 가 잡고 있어도 PENDING 으로 남아 있으므로 뒤 알림이 먼저 나가지 않는다.
+		다른 dispatcher 가 잡고 있는 row 는 건너뛴다. (lock.timeout -2 = SKIP LOCKED)
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+	@Query("select o from NotificationOutbox o where o.status = :status and o.nextAttemptAt <= :now"
+		+ " and not exists (select p.id from NotificationOutbox p"
+		+ " where p.studyId = o.studyId and p.status = :status and p.id < o.id)"
+		+ " order by o.id")
+	List<NotificationOutbox> findDispatchable(
+		@Param("status") NotificationOutbox.Status status,
+		@Param("now") LocalDateTime now,
+		Pageable pageable
+	);
+
+	@Transactional
+	@Modifying
+	@Query("update NotificationOutbox o set o.status = :status, o.sentAt = :now where o.id in :ids")
+	int markSent(
+		@Param("ids") Collection<Long> ids,
+		@Param("status") NotificationOutbox.Status status,
+		@Param("now") LocalDateTime now
+	);
+
+	@Transactional
+	@Modifying
+	@Query("update NotificationOutbox o"
+		+ " set o.status = :status, o.attempts = o.attempts + 1, o.nextAttemptAt = :nextAttemptAt, o.lastError = :error"
+		+ " where o.id = :id")
+	int markFailed(
+		@Param("id") Long id,
+		@Param("status") NotificationOutbox.Status status,
+		@Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+		@Param("error") String error
+	);
+}
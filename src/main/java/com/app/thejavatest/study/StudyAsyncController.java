@@ -0,0 +1,71 @@
+package com.app.thejavatest.study;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.thejavatest.datasource.SqlStatementStats;
+import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.execution.ExecutionModeConfig;
+
+/*
+	study.execution.mode=async 일 때만 뜬다.
+
+	StudyController 와 같은 처리를 studyAsyncExecutor 에서 실행하고, 톰캣 요청 스레드는 바로 반납한다.
+	느린 repository 호출은 executor 스레드를 잡고 있으므로 동시에 처리 가능한 요청 수는 executor 크기 + 큐 크기다.
+	DB 를 타는 /study 조회, 저장만 옮긴다. TestController(/test) 는 I/O 없이 요청 본문을 그대로 돌려주므로
+	executor 로 넘기면 스레드 전환 비용만 늘어서 옮기지 않는다.
+	요청의 SqlStatementStats 를 executor 스레드로 넘겨서 거기서 실행한 SQL 도 그 요청으로 센다.
+ */
+@RestController
+@RequestMapping("/async")
+@ConditionalOnProperty(name = "study.execution.mode", havingValue = "async")
+public class StudyAsyncController {
+
+	private final StudyController studyController;
+
+	private final Executor executor;
+
+	public StudyAsyncController(
+		StudyController studyController,
+		@Qualifier(ExecutionModeConfig.ASYNC_EXECUTOR) Executor executor
+	) {
+		this.studyController = studyController;
+		this.executor = executor;
+	}
+
+	@GetMapping("/study/{id}")
+	public CompletableFuture<ResponseEntity<byte[]>> getStudy(
+		@PathVariable Long id,
+		@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+	) {
+		return CompletableFuture.supplyAsync(
+			SqlStatementStats.propagate(() -> studyController.getStudy(id, accept, ifNoneMatch)), executor);
+	}
+
+	@PostMapping("/study")
+	public CompletableFuture<Study> createsStudy(@RequestBody Study study) {
+		return CompletableFuture.supplyAsync(
+			SqlStatementStats.propagate(() -> studyController.createsStudy(study)), executor);
+	}
+
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<Void> rejected() {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+	}
+}
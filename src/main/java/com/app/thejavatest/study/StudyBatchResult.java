@@ -0,0 +1,49 @@
+package com.app.thejavatest.study;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// POST /study/batch 응답. index 는 요청 배열에서의 위치
+@Getter
+public class StudyBatchResult {
+
+	private final int requested;
+
+	private final List<Created> created;
+
+	private final List<Failed> failed = new ArrayList<>();
+
+	StudyBatchResult(int requested) {
+		this.requested = requested;
+		this.created = new ArrayList<>(requested);
+	}
+
+	void created(int index, Long id) {
+		created.add(new Created(index, id));
+	}
+
+	void failed(int index, String message) {
+		failed.add(new Failed(index, message));
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Created {
+
+		private final int index;
+
+		private final Long id;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Failed {
+
+		private final int index;
+
+		private final String message;
+	}
+}
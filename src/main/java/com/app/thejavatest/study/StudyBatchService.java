@@ -0,0 +1,127 @@
+package com.app.thejavatest.study;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import com.app.thejavatest.domain.Study;
+
+/*
+	스터디 대량 생성
+
+	- chunk 단위로 트랜잭션을 나누고, chunk 안에서는 persist 후 한번에 flush 한다.
+		hibernate.jdbc.batch_size 만큼 insert 가 JDBC batch 로 묶이고,
+		id 는 시퀀스 allocationSize 만큼 미리 할당받으므로 시퀀스 조회도 거의 발생하지 않는다.
+	- chunk 가 실패하면 어떤 항목이 문제인지 알 수 없으니 그 chunk 만 한건씩 다시 저장해서 실패 항목을 골라낸다.
+		나머지 chunk 는 영향을 받지 않는다.
+ */
+@Service
+public class StudyBatchService {
+
+	private final EntityManager entityManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final int chunkSize;
+
+	private final int maxSize;
+
+	public StudyBatchService(
+		EntityManager entityManager,
+		PlatformTransactionManager transactionManager,
+		@Value("${study.batch.chunk-size:1000}") int chunkSize,
+		@Value("${study.batch.max-size:10000}") int maxSize
+	) {
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.chunkSize = chunkSize;
+		this.maxSize = maxSize;
+	}
+
+	public StudyBatchResult createAll(List<Study> studies) {
+		if (studies.size() > maxSize) {
+			throw new IllegalArgumentException("Too many studies in one batch: " + studies.size() + " > " + maxSize);
+		}
+		StudyBatchResult result = new StudyBatchResult(studies.size());
+		for (int from = 0; from < studies.size(); from += chunkSize) {
+			createChunk(studies, from, Math.min(from + chunkSize, studies.size()), result);
+		}
+		return result;
+	}
+
+	private void createChunk(List<Study> studies, int from, int to, StudyBatchResult result) {
+		List<Study> valid = new ArrayList<>(to - from);
+		List<Integer> validIndexes = new ArrayList<>(to - from);
+		for (int index = from; index < to; index++) {
+			Study study = studies.get(index);
+			String error = validate(study);
+			if (error != null) {
+				result.failed(index, error);
+				continue;
+			}
+			study.setId(null);
+			study.setVersion(0);
+			study.setEnrolledCount(0);
+			valid.add(study);
+			validIndexes.add(index);
+		}
+
+		try {
+			persist(valid);
+			for (int i = 0; i < valid.size(); i++) {
+				result.created(validIndexes.get(i), valid.get(i).getId());
+			}
+		} catch (RuntimeException chunkFailure) {
+			for (int i = 0; i < valid.size(); i++) {
+				Study study = valid.get(i);
+				study.setId(null); // 롤백된 chunk 에서 할당받은 id 는 버린다.
+				try {
+					persist(List.of(study));
+					result.created(validIndexes.get(i), study.getId());
+				} catch (RuntimeException itemFailure) {
+					study.setId(null);
+					result.failed(validIndexes.get(i), rootMessage(itemFailure));
+				}
+			}
+		}
+	}
+
+	private void persist(List<Study> studies) {
+		if (studies.isEmpty()) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(status -> {
+			studies.forEach(entityManager::persist);
+			entityManager.flush();
+			entityManager.clear();
+		});
+	}
+
+	private String validate(Study study) {
+		if (study == null) {
+			return "study must not be null";
+		}
+		if (!StringUtils.hasText(study.getName())) {
+			return "name must not be blank";
+		}
+		if (study.getLimitCount() < 0) {
+			return "limitCount must not be negative";
+		}
+		return null;
+	}
+
+	private String rootMessage(Throwable e) {
+		Throwable cause = e;
+		while (cause.getCause() != null && cause.getCause() != cause) {
+			cause = cause.getCause();
+		}
+		return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getName();
+	}
+}
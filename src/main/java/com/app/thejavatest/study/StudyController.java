@@ -1,12 +1,25 @@
 package com.app.thejavatest.study;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.domain.StudyStatus;
 
 import lombok.RequiredArgsConstructor;
 
@@ -86,17 +99,104 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class StudyController {
 
-	final StudyRepository repository;
+	final StudyService studyService;
+
+	final StudyReader reader;
+
+	final StudyResponseCache responseCache;
+
+	final StudyBatchService batchService;
 
+	final StudyQueryService queryService;
+
+	final StudyExportService exportService;
+
+	final StudyEnrollmentService enrollmentService;
+
+	/*
+		직렬화된 응답을 캐시에서 그대로 내려준다. Accept 로 CBOR/Smile 을 고를 수 있고 기본은 JSON.
+		If-None-Match 가 맞으면 본문 없이 304. 캐시에 없으면 row 전체 대신 version 만 읽어서 비교한다.
+		DB 조회는 StudyReader 를 거치고, 제한 시간 안에 읽지 못하면 마지막으로 읽은 값을 (캐시하지 않고) 내려준다.
+	 */
 	@GetMapping("/study/{id}")
-	public Study getStudy(@PathVariable Long id) {
-		return repository.findById(id)
+	public ResponseEntity<byte[]> getStudy(
+		@PathVariable Long id,
+		@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+		@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+	) {
+		StudyFormat format = StudyFormat.negotiate(accept);
+		if (ifNoneMatch != null) {
+			Optional<String> etag = responseCache.getIfPresent(id, format)
+				.map(StudyResponseCache.Entry::getEtag)
+				.or(() -> findVersion(id).map(version -> StudyEtag.of(id, version, format)));
+			if (etag.isPresent() && StudyEtag.matches(ifNoneMatch, etag.get())) {
+				return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+					.eTag(etag.get())
+					.varyBy(HttpHeaders.ACCEPT)
+					.build();
+			}
+		}
+
+		StudyResponseCache.Entry entry = findEntry(id, format)
 			.orElseThrow(() -> new IllegalArgumentException("Study not found for '" + id + "'"));
+		return ResponseEntity.ok()
+			.eTag(entry.getEtag())
+			.varyBy(HttpHeaders.ACCEPT)
+			.contentType(format.getMediaType())
+			.body(entry.getBody());
+	}
+
+	private Optional<StudyResponseCache.Entry> findEntry(Long id, StudyFormat format) {
+		try {
+			return responseCache.get(id, format, reader::findById);
+		} catch (StudyReadUnavailableException e) {
+			Study lastKnown = reader.findLastKnown(id).orElseThrow(() -> e);
+			return Optional.of(responseCache.render(lastKnown, format));
+		}
+	}
+
+	// version 을 못 읽으면 조건부 요청을 무시하고 본문 조회로 넘어간다.
+	private Optional<Long> findVersion(Long id) {
+		try {
+			return reader.findVersionById(id);
+		} catch (StudyReadUnavailableException e) {
+			return Optional.empty();
+		}
 	}
 
 	@PostMapping("/study")
 	public Study createsStudy(@RequestBody Study study) {
-		return repository.save(study);
+		return studyService.saveStudy(study);
+	}
+
+	// 정원이 차면 409
+	@PostMapping("/study/{id}/members")
+	public ResponseEntity<StudyEnrollmentResult> enroll(@PathVariable Long id, @RequestParam Long memberId) {
+		StudyEnrollmentResult result = enrollmentService.enroll(id, memberId);
+		return ResponseEntity.status(result.getHttpStatus()).body(result);
+	}
+
+	// 실패한 항목이 있어도 나머지는 저장하고, 항목별 결과를 돌려준다.
+	@PostMapping("/study/batch")
+	public StudyBatchResult createStudies(@RequestBody List<Study> studies) {
+		return batchService.createAll(studies);
+	}
+
+	// 응답의 next 를 after 로 넘기면 다음 페이지
+	@GetMapping("/studies")
+	public StudyPage getStudies(
+		@RequestParam StudyStatus status,
+		@RequestParam(required = false) String after,
+		@RequestParam(defaultValue = "20") int limit
+	) {
+		return queryService.findStudies(status, StudyCursor.decode(after), limit);
+	}
+
+	// 응답 스트림에 바로 쓴다. (전체를 메모리에 올리지 않음)
+	@GetMapping(value = "/studies/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public void exportStudies(HttpServletResponse response) throws IOException {
+		response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+		exportService.export(response.getOutputStream());
 	}
 
 }
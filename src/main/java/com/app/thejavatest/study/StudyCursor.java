@@ -0,0 +1,52 @@
+package com.app.thejavatest.study;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import org.springframework.util.StringUtils;
+
+import com.app.thejavatest.domain.Study;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// GET /studies 의 after 파라미터. 마지막으로 본 스터디의 (openedDateTime, id) 를 감춘 문자열
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class StudyCursor {
+
+	private static final String SEPARATOR = "|";
+
+	private final LocalDateTime openedDateTime;
+
+	private final Long id;
+
+	public static StudyCursor of(Study study) {
+		return new StudyCursor(study.getOpenedDateTime(), study.getId());
+	}
+
+	// 비어있으면 첫 페이지
+	public static StudyCursor decode(String value) {
+		if (!StringUtils.hasText(value)) {
+			return null;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(SEPARATOR);
+			String openedDateTime = raw.substring(0, separator);
+			return new StudyCursor(
+				openedDateTime.isEmpty() ? null : LocalDateTime.parse(openedDateTime),
+				Long.valueOf(raw.substring(separator + 1)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid cursor '" + value + "'", e);
+		}
+	}
+
+	public String encode() {
+		String raw = (openedDateTime == null ? "" : openedDateTime.toString()) + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,19 @@
+package com.app.thejavatest.study;
+
+import org.springframework.http.HttpStatus;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// POST /study/{id}/members 결과
+@Getter
+@RequiredArgsConstructor
+public enum StudyEnrollmentResult {
+
+	ENROLLED(HttpStatus.CREATED),
+	ALREADY_ENROLLED(HttpStatus.OK),
+	FULL(HttpStatus.CONFLICT),
+	NOT_FOUND(HttpStatus.NOT_FOUND);
+
+	private final HttpStatus httpStatus;
+}
@@ -0,0 +1,112 @@
+package com.app.thejavatest.study;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.thejavatest.domain.StudyMember;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/*
+	스터디 참여 (정원 limitCount)
+
+	- 스터디별 남은 자리를 AtomicInteger 로 들고 있다가 CAS 로 먼저 한자리를 예약한다.
+		자리가 없으면 참여 여부만 확인하고 (이미 참여했으면 ALREADY_ENROLLED) FULL. 인기 스터디에 요청이 몰려도 쓰기까지 가는 요청은 남은 자리 수를 넘지 않는다.
+	- 예약에 성공하면 한 트랜잭션에서 참여 기록을 넣고 (study, member 유니크) 조건부 UPDATE 로 인원을 늘린다.
+		정원 검사는 DB 가 하므로 게이트 값이 틀려도 (다른 인스턴스가 먼저 채운 경우 등) 넘치지 않는다.
+		참여 기록을 먼저 넣어서 스터디 row lock 은 UPDATE 부터 커밋까지만 잡는다.
+	- 중복 참여나 실패로 들어가지 못하면 예약을 돌려놓고, DB 가 꽉 찼다고 하면 게이트도 0 으로 맞춘다.
+	- 게이트는 ttl 이 지나면 DB 값으로 다시 읽는다. (정원이 바뀐 경우 반영)
+ */
+@Service
+public class StudyEnrollmentService {
+
+	private final StudyRepository studyRepository;
+
+	private final StudyMemberRepository studyMemberRepository;
+
+	private final StudyResponseCache responseCache;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final Cache<Long, AtomicInteger> remainingSeats;
+
+	public StudyEnrollmentService(
+		StudyRepository studyRepository,
+		StudyMemberRepository studyMemberRepository,
+		StudyResponseCache responseCache,
+		PlatformTransactionManager transactionManager,
+		@Value("${study.enrollment.gate.max-size:10000}") long maxSize,
+		@Value("${study.enrollment.gate.ttl:1m}") Duration ttl
+	) {
+		this.studyRepository = studyRepository;
+		this.studyMemberRepository = studyMemberRepository;
+		this.responseCache = responseCache;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.remainingSeats = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(ttl)
+			.build();
+	}
+
+	public StudyEnrollmentResult enroll(Long studyId, Long memberId) {
+		// 없는 스터디는 캐시하지 않는다.
+		AtomicInteger remaining = remainingSeats.get(studyId, this::loadRemainingSeats);
+		if (remaining == null) {
+			return StudyEnrollmentResult.NOT_FOUND;
+		}
+		if (!reserve(remaining)) {
+			// 꽉 찬 스터디에 다시 참여하는 멤버는 DB 경로와 같이 ALREADY_ENROLLED
+			return studyMemberRepository.existsByStudyIdAndMemberId(studyId, memberId)
+				? StudyEnrollmentResult.ALREADY_ENROLLED
+				: StudyEnrollmentResult.FULL;
+		}
+
+		StudyEnrollmentResult result = null;
+		try {
+			result = transactionTemplate.execute(status -> {
+				studyMemberRepository.saveAndFlush(new StudyMember(studyId, memberId));
+				if (studyRepository.incrementEnrolledCount(studyId) == 0) {
+					status.setRollbackOnly();
+					return StudyEnrollmentResult.FULL;
+				}
+				return StudyEnrollmentResult.ENROLLED;
+			});
+		} catch (DataIntegrityViolationException e) {
+			result = StudyEnrollmentResult.ALREADY_ENROLLED;
+		} finally {
+			if (result == StudyEnrollmentResult.FULL) {
+				remaining.set(0);
+			} else if (result != StudyEnrollmentResult.ENROLLED) {
+				remaining.incrementAndGet();
+			}
+		}
+
+		if (result == StudyEnrollmentResult.ENROLLED) {
+			responseCache.evict(studyId);
+		}
+		return result;
+	}
+
+	private boolean reserve(AtomicInteger remaining) {
+		int current;
+		do {
+			current = remaining.get();
+			if (current <= 0) {
+				return false;
+			}
+		} while (!remaining.compareAndSet(current, current - 1));
+		return true;
+	}
+
+	private AtomicInteger loadRemainingSeats(Long studyId) {
+		Integer remaining = studyRepository.findRemainingSeats(studyId);
+		return remaining == null ? null : new AtomicInteger(remaining);
+	}
+}
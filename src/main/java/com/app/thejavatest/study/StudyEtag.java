@@ -0,0 +1,36 @@
+package com.app.thejavatest.study;
+
+import com.app.thejavatest.domain.Study;
+
+/*
+	GET /study/{id} 의 strong ETag. "<id>-<version>" (바이너리 포맷은 "<id>-<version>-cbor" 처럼 포맷을 붙인다.)
+
+	스터디가 바뀌면 @Version 이 올라가므로 본문을 직렬화하지 않고 version 만으로 만들 수 있다.
+ */
+final class StudyEtag {
+
+	private StudyEtag() {
+	}
+
+	static String of(Study study, StudyFormat format) {
+		return of(study.getId(), study.getVersion(), format);
+	}
+
+	static String of(Long id, long version, StudyFormat format) {
+		return "\"" + id + "-" + version + format.getEtagSuffix() + "\"";
+	}
+
+	// If-None-Match 는 weak 비교 (W/ 무시), * 는 항상 일치
+	static boolean matches(String ifNoneMatch, String etag) {
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.trim();
+			if (tag.startsWith("W/")) {
+				tag = tag.substring(2);
+			}
+			if (tag.equals("*") || tag.equals(etag)) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,68 @@
+package com.app.thejavatest.study;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.thejavatest.domain.Study;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/*
+	전체 스터디를 NDJSON (한 줄에 JSON 하나) 으로 내보낸다.
+
+	한 건씩 읽어서 바로 쓰고 영속성 컨텍스트에서 떼어내기 때문에, 건수와 상관없이 힙 사용량이 일정하다.
+	findAll() 은 전체를 List 와 영속성 컨텍스트에 올리므로 export 에 쓰면 안 된다.
+ */
+@Service
+public class StudyExportService {
+
+	private static final int NEW_LINE = '\n';
+
+	private final StudyRepository repository;
+
+	private final EntityManager entityManager;
+
+	private final ObjectWriter writer;
+
+	public StudyExportService(StudyRepository repository, EntityManager entityManager, ObjectMapper objectMapper) {
+		this.repository = repository;
+		this.entityManager = entityManager;
+		// 제너레이터 하나로 전체를 쓰고, 응답 스트림은 닫지도 중간에 flush 하지도 않는다. (flush 는 마지막에 한번)
+		this.writer = objectMapper.writer()
+			.withRootValueSeparator("\n")
+			.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+			.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+	}
+
+	@Transactional(readOnly = true)
+	public long export(OutputStream out) throws IOException {
+		long count = 0;
+		try (Stream<Study> studies = repository.streamAll();
+			 SequenceWriter sequence = writer.writeValues(out)) {
+			Iterator<Study> iterator = studies.iterator();
+			while (iterator.hasNext()) {
+				Study study = iterator.next();
+				sequence.write(study);
+				entityManager.detach(study);
+				count++;
+			}
+		}
+		// 구분자는 값 사이에만 들어가므로 마지막 줄바꿈은 직접 쓴다.
+		if (count > 0) {
+			out.write(NEW_LINE);
+		}
+		out.flush();
+		return count;
+	}
+}
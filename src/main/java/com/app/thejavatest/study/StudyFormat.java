@@ -0,0 +1,71 @@
+package com.app.thejavatest.study;
+
+import java.util.List;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+	GET /study/{id} 응답 포맷
+
+	외부 클라이언트는 JSON (기본), 내부 서비스끼리는 Accept 로 CBOR 나 Smile 을 요청할 수 있다.
+	바이너리 포맷은 같은 ETag 를 쓰면 안되므로 ETag 에 포맷을 붙인다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum StudyFormat {
+
+	JSON(MediaType.APPLICATION_JSON, ""),
+	CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+	SMILE(new MediaType("application", "x-jackson-smile"), "-smile");
+
+	private final MediaType mediaType;
+
+	private final String etagSuffix;
+
+	// 스프링 부트 설정(spring.jackson.*)이 들어간 builder 로 포맷별 ObjectMapper 를 만든다.
+	ObjectMapper createObjectMapper(Jackson2ObjectMapperBuilder builder) {
+		switch (this) {
+			case CBOR:
+				return builder.factory(new CBORFactory()).build();
+			case SMILE:
+				return builder.factory(new SmileFactory()).build();
+			default:
+				return builder.factory(new JsonFactory()).build();
+		}
+	}
+
+	// Accept 에서 q 가 가장 높은 포맷. 헤더가 없거나 아는 포맷이 없으면 JSON
+	static StudyFormat negotiate(String accept) {
+		if (accept == null || accept.isBlank()) {
+			return JSON;
+		}
+		List<MediaType> acceptedTypes;
+		try {
+			acceptedTypes = MediaType.parseMediaTypes(accept);
+		} catch (InvalidMediaTypeException e) {
+			return JSON;
+		}
+		MediaType.sortBySpecificityAndQuality(acceptedTypes);
+		for (MediaType acceptedType : acceptedTypes) {
+			if (acceptedType.getQualityValue() == 0) {
+				continue;
+			}
+			for (StudyFormat format : values()) {
+				if (acceptedType.includes(format.mediaType)) {
+					return format;
+				}
+			}
+		}
+		return JSON;
+	}
+}
@@ -0,0 +1,15 @@
+package com.app.thejavatest.study;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 같은 스터디를 먼저 읽고 있는 요청을 기다리다 시간이 지난 경우
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StudyLoadTimeoutException extends RuntimeException {
+
+	public StudyLoadTimeoutException(Long id, Duration timeout) {
+		super("Timed out after " + timeout.toMillis() + "ms waiting for in-flight load of study '" + id + "'");
+	}
+}
@@ -0,0 +1,12 @@
+package com.app.thejavatest.study;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.app.thejavatest.domain.StudyMember;
+
+public interface StudyMemberRepository extends JpaRepository<StudyMember, Long> {
+
+	long countByStudyId(Long studyId);
+
+	boolean existsByStudyIdAndMemberId(Long studyId, Long memberId);
+}
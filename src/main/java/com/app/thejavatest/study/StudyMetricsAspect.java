@@ -0,0 +1,75 @@
+package com.app.thejavatest.study;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+	StudyService, StudyRepository, MemberService 호출 시간을 메소드/결과별 Timer 로 남긴다.
+
+	study.service.calls / study.repository.calls / member.service.calls
+		tag: method, outcome (SUCCESS | ERROR), exception (없으면 none)
+		percentile histogram 을 켜서 prometheus 에서 histogram_quantile 로 p99 등을 볼 수 있다.
+
+	가장 바깥에서 감싸도록 HIGHEST_PRECEDENCE 로 둔다.
+	카오스 멍키의 repository 공격(지연, 예외)도 같은 aspect 체인 안쪽에서 일어나므로 이 메트릭에 그대로 잡힌다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StudyMetricsAspect {
+
+	static final String SERVICE_TIMER = "study.service.calls";
+
+	static final String REPOSITORY_TIMER = "study.repository.calls";
+
+	static final String MEMBER_SERVICE_TIMER = "member.service.calls";
+
+	private final MeterRegistry meterRegistry;
+
+	public StudyMetricsAspect(MeterRegistry meterRegistry) {
+		this.meterRegistry = meterRegistry;
+	}
+
+	@Around("execution(public * com.app.thejavatest.study.StudyService.*(..))")
+	public Object timeStudyService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(SERVICE_TIMER, joinPoint);
+	}
+
+	@Around("target(com.app.thejavatest.study.StudyRepository)")
+	public Object timeStudyRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(REPOSITORY_TIMER, joinPoint);
+	}
+
+	@Around("target(com.app.thejavatest.member.MemberService)")
+	public Object timeMemberService(ProceedingJoinPoint joinPoint) throws Throwable {
+		return time(MEMBER_SERVICE_TIMER, joinPoint);
+	}
+
+	private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome = "SUCCESS";
+		String exception = "none";
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable e) {
+			outcome = "ERROR";
+			// 익명/람다 클래스는 simple name 이 비어 있고, 패키지가 달라도 이름이 겹칠 수 있어서 전체 이름으로 남긴다.
+			exception = e.getClass().getName();
+			throw e;
+		} finally {
+			sample.stop(Timer.builder(name)
+				.tag("method", joinPoint.getSignature().getName())
+				.tag("outcome", outcome)
+				.tag("exception", exception)
+				.publishPercentileHistogram()
+				.register(meterRegistry));
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.app.thejavatest.study;
+
+import java.util.List;
+
+import com.app.thejavatest.domain.Study;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// next 가 null 이면 마지막 페이지
+@Getter
+@RequiredArgsConstructor
+public class StudyPage {
+
+	private final List<Study> content;
+
+	private final String next;
+}
@@ -0,0 +1,53 @@
+package com.app.thejavatest.study;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.domain.StudyStatus;
+
+@Service
+@Transactional(readOnly = true)
+public class StudyQueryService {
+
+	private final StudyRepository repository;
+
+	private final int maxLimit;
+
+	public StudyQueryService(StudyRepository repository, @Value("${study.list.max-limit:100}") int maxLimit) {
+		this.repository = repository;
+		this.maxLimit = maxLimit;
+	}
+
+	// 다음 페이지가 있는지 알기 위해 limit + 1 개를 읽는다.
+	public StudyPage findStudies(StudyStatus status, StudyCursor after, int limit) {
+		if (limit < 1 || limit > maxLimit) {
+			throw new IllegalArgumentException("limit must be between 1 and " + maxLimit + ": " + limit);
+		}
+		int fetchSize = limit + 1;
+		List<Study> studies = new ArrayList<>(fetchSize);
+
+		if (after == null) {
+			studies.addAll(repository.findOpenedFirstPage(status, PageRequest.of(0, fetchSize)));
+		} else if (after.getOpenedDateTime() != null) {
+			studies.addAll(repository.findOpenedPageAfter(
+				status, after.getOpenedDateTime(), after.getId(), PageRequest.of(0, fetchSize)));
+		}
+		if (studies.size() < fetchSize) {
+			Long afterId = after != null && after.getOpenedDateTime() == null ? after.getId() : Long.MIN_VALUE;
+			studies.addAll(repository.findNotOpenedPageAfter(
+				status, afterId, PageRequest.of(0, fetchSize - studies.size())));
+		}
+
+		if (studies.size() <= limit) {
+			return new StudyPage(studies, null);
+		}
+		List<Study> content = studies.subList(0, limit);
+		return new StudyPage(content, StudyCursor.of(content.get(limit - 1)).encode());
+	}
+}
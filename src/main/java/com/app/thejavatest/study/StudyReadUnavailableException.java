@@ -0,0 +1,20 @@
+package com.app.thejavatest.study;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// StudyReader 가 제한 시간 안에 읽지 못했거나 동시 조회 한도가 찬 경우
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class StudyReadUnavailableException extends RuntimeException {
+
+	private final String reason;
+
+	public StudyReadUnavailableException(String reason, String message, Throwable cause) {
+		super(message, cause);
+		this.reason = reason;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+}
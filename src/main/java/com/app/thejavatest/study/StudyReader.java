@@ -0,0 +1,191 @@
+package com.app.thejavatest.study;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.app.thejavatest.datasource.ReadYourWrites;
+import com.app.thejavatest.datasource.SqlStatementStats;
+import com.app.thejavatest.domain.Study;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+/*
+	GET /study/{id} 의 StudyRepository 조회를 감싸는 resilience 레이어 (study.resilience.*)
+
+	- timeout: 조회는 전용 스레드에서 돌고 요청 스레드는 timeout 까지만 기다린다.
+		카오스 멍키 지연 공격처럼 repository 호출이 몇초씩 걸려도 요청 스레드는 묶이지 않는다.
+	- bulkhead: 동시에 DB 로 가는 조회를 max-concurrent 개로 제한한다. 꽉 차면 기다리지 않고 바로 실패한다.
+		timeout 으로 버려진 조회도 끝날 때까지 자리를 차지하므로, 느린 DB 에 조회가 계속 쌓이지 않는다.
+	- hedge: 켜면 최근 조회 p95 (최소 min-delay) 가 지나도 응답이 없을 때 한번 더 보내고 먼저 온 결과를 쓴다.
+	- 실패하면 StudyReadUnavailableException (503). 마지막으로 읽은 값은 findLastKnown 으로 꺼낼 수 있다.
+	- enabled=false 면 요청 스레드에서 바로 조회한다.
+	- 조회 스레드에도 요청 스레드의 ReadYourWrites 결정을 넘겨서, 쓰기 직후의 조회는 레플리카가 아닌 primary 로 간다.
+		요청의 SqlStatementStats 도 넘겨서 조회 스레드에서 실행한 SQL 도 그 요청으로 센다.
+
+	study.read.calls (outcome), study.read.hedges, study.read.failures (reason) 메트릭을 남긴다.
+ */
+@Component
+public class StudyReader {
+
+	static final String LATENCY_TIMER = "study.read.calls";
+
+	private final StudyRepository repository;
+
+	private final MeterRegistry meterRegistry;
+
+	private final boolean enabled;
+
+	private final Duration timeout;
+
+	private final boolean hedgeEnabled;
+
+	private final Duration hedgeMinDelay;
+
+	private final Semaphore bulkhead;
+
+	private final ExecutorService executor;
+
+	private final Timer latency;
+
+	// 성공한 조회 결과. 엔티티는 요청끼리 같이 보므로 꺼내서 수정하면 안된다.
+	private final Cache<Long, Study> lastKnown;
+
+	public StudyReader(
+		StudyRepository repository,
+		MeterRegistry meterRegistry,
+		@Value("${study.resilience.enabled:true}") boolean enabled,
+		@Value("${study.resilience.timeout:1s}") Duration timeout,
+		@Value("${study.resilience.max-concurrent:50}") int maxConcurrent,
+		@Value("${study.resilience.hedge.enabled:false}") boolean hedgeEnabled,
+		@Value("${study.resilience.hedge.min-delay:20ms}") Duration hedgeMinDelay,
+		@Value("${study.resilience.last-known.max-size:10000}") long lastKnownMaxSize
+	) {
+		this.repository = repository;
+		this.meterRegistry = meterRegistry;
+		this.enabled = enabled;
+		this.timeout = timeout;
+		this.hedgeEnabled = hedgeEnabled;
+		this.hedgeMinDelay = hedgeMinDelay;
+		this.bulkhead = new Semaphore(maxConcurrent);
+		// bulkhead 가 동시 작업 수를 제한하므로 큐에 쌓이지 않는다.
+		this.executor = Executors.newFixedThreadPool(maxConcurrent, new CustomizableThreadFactory("study-read-"));
+		this.latency = Timer.builder(LATENCY_TIMER)
+			.tag("outcome", "SUCCESS")
+			.publishPercentiles(0.95)
+			.register(meterRegistry);
+		this.lastKnown = Caffeine.newBuilder()
+			.maximumSize(lastKnownMaxSize)
+			.build();
+	}
+
+	public Optional<Study> findById(Long id) {
+		Optional<Study> study = read(() -> repository.findById(id));
+		if (study.isPresent()) {
+			lastKnown.put(id, study.get());
+		} else {
+			lastKnown.invalidate(id);
+		}
+		return study;
+	}
+
+	public Optional<Long> findVersionById(Long id) {
+		return read(() -> repository.findVersionById(id));
+	}
+
+	public Optional<Study> findLastKnown(Long id) {
+		return Optional.ofNullable(lastKnown.getIfPresent(id));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private <T> T read(Supplier<T> query) {
+		if (!enabled) {
+			return query.get();
+		}
+		Supplier<T> routedQuery = SqlStatementStats.propagate(ReadYourWrites.propagate(query));
+		CompletableFuture<T> result = new CompletableFuture<>();
+		if (!submit(routedQuery, result)) {
+			throw failure("bulkhead", "Too many concurrent study reads", null);
+		}
+		if (hedgeEnabled) {
+			CompletableFuture.delayedExecutor(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+				if (!result.isDone() && submit(routedQuery, result)) {
+					meterRegistry.counter("study.read.hedges").increment();
+				}
+			});
+		}
+
+		try {
+			return result.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			throw failure("timeout", "Study read timed out after " + timeout.toMillis() + "ms", e);
+		} catch (ExecutionException e) {
+			throw failure("error", "Study read failed", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw failure("interrupted", "Interrupted while reading study", e);
+		}
+	}
+
+	// bulkhead 자리가 있을 때만 조회를 시작한다. 자리는 조회가 실제로 끝나야 돌려준다.
+	private <T> boolean submit(Supplier<T> query, CompletableFuture<T> result) {
+		if (!bulkhead.tryAcquire()) {
+			return false;
+		}
+		try {
+			executor.execute(() -> {
+				long start = System.nanoTime();
+				try {
+					T value = query.get();
+					latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+					result.complete(value);
+				} catch (Throwable e) {
+					result.completeExceptionally(e);
+				} finally {
+					bulkhead.release();
+				}
+			});
+			return true;
+		} catch (RejectedExecutionException e) {
+			bulkhead.release();
+			return false;
+		}
+	}
+
+	private Duration hedgeDelay() {
+		for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+			long p95 = (long)percentile.value(TimeUnit.NANOSECONDS);
+			if (p95 > hedgeMinDelay.toNanos()) {
+				return Duration.ofNanos(p95);
+			}
+		}
+		return hedgeMinDelay;
+	}
+
+	private StudyReadUnavailableException failure(String reason, String message, Throwable cause) {
+		meterRegistry.counter("study.read.failures", "reason", reason).increment();
+		return new StudyReadUnavailableException(reason, message, cause);
+	}
+}
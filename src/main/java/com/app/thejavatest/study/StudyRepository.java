@@ -1,9 +1,88 @@
 package com.app.thejavatest.study;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.domain.StudyStatus;
 
 // jpa 가 알아서 구현체를 만들어줌
 public interface StudyRepository extends JpaRepository<Study, Long> {
+
+	/*
+		DRAFT 인 스터디만 OPENED 로 바꾼다. 읽지 않고 UPDATE 한번으로 끝나고,
+		동시에 여러 요청이 열어도 row lock 때문에 한 요청만 1 을 돌려받는다. (나머지는 0)
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Study s set s.status = com.app.thejavatest.domain.StudyStatus.OPENED,"
+		+ " s.openedDateTime = :openedDateTime, s.version = s.version + 1"
+		+ " where s.id = :id and s.status = com.app.thejavatest.domain.StudyStatus.DRAFT")
+	int openIfDraft(@Param("id") Long id, @Param("openedDateTime") LocalDateTime openedDateTime);
+
+	/*
+		자리가 남아 있을 때만 참여 인원을 하나 늘린다. 정원 검사는 DB 가 하므로 여러 인스턴스가 동시에 늘려도 넘치지 않는다.
+		엔티티로 저장하는 쪽이 늘어난 인원을 덮어쓰지 않도록 version 도 올린다.
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true)
+	@Query("update Study s set s.enrolledCount = s.enrolledCount + 1, s.version = s.version + 1"
+		+ " where s.id = :id and s.enrolledCount < s.limitCount")
+	int incrementEnrolledCount(@Param("id") Long id);
+
+	// GET /study/{id} 조건부 요청. row 전체 대신 version 만 읽는다.
+	@Query("select s.version from Study s where s.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+
+	// 참여 게이트 초기화용. 남은 자리 수 (스터디가 없으면 null)
+	@Query("select s.limitCount - s.enrolledCount from Study s where s.id = :id")
+	Integer findRemainingSeats(@Param("id") Long id);
+
+	/*
+		keyset(seek) 페이징. offset 을 쓰지 않아서 몇번째 페이지든 비용이 같다.
+		openedDateTime 이 있는 스터디를 (openedDateTime, id) 순으로 먼저, 그 다음 없는 스터디를 id 순으로 준다.
+		Pageable 은 limit 용도로만 쓴다. (PageRequest.of(0, n))
+	 */
+	@Query("select s from Study s where s.status = :status and s.openedDateTime is not null"
+		+ " order by s.openedDateTime, s.id")
+	List<Study> findOpenedFirstPage(@Param("status") StudyStatus status, Pageable pageable);
+
+	// openedDateTime >= :openedDateTime 조건으로 인덱스 범위 스캔을 타게 한다.
+	@Query("select s from Study s where s.status = :status and s.openedDateTime >= :openedDateTime"
+		+ " and (s.openedDateTime > :openedDateTime or s.id > :id)"
+		+ " order by s.openedDateTime, s.id")
+	List<Study> findOpenedPageAfter(
+		@Param("status") StudyStatus status,
+		@Param("openedDateTime") LocalDateTime openedDateTime,
+		@Param("id") Long id,
+		Pageable pageable
+	);
+
+	@Query("select s from Study s where s.status = :status and s.openedDateTime is null and s.id > :id"
+		+ " order by s.id")
+	List<Study> findNotOpenedPageAfter(@Param("status") StudyStatus status, @Param("id") Long id, Pageable pageable);
+
+	/*
+		전체 export 용. 트랜잭션 안에서만 쓸 수 있고, 다 쓰면 close 해야 한다.
+		fetchSize 만큼씩 DB 커서로 가져오고(postgres 는 autocommit=false 일 때만 커서를 쓴다),
+		readOnly 라서 dirty checking 용 스냅샷도 만들지 않는다.
+	 */
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	@Query("select s from Study s")
+	Stream<Study> streamAll();
 }
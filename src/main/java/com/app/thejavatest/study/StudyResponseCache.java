@@ -0,0 +1,160 @@
+package com.app.thejavatest.study;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import com.app.thejavatest.domain.Study;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/*
+	GET /study/{id} 응답을 직렬화된 바이트와 ETag 로 보관하는 캐시
+
+	- (id, 포맷) 별로 따로 보관한다. JSON 이 기본이고 내부 서비스는 CBOR/Smile 을 받을 수 있다. (StudyFormat)
+	- 엔트리 무게 = 직렬화된 바이트 수, 전체 무게가 max-size 를 넘으면 오래/덜 쓰인 엔트리부터 제거된다.
+	- expireAfterWrite 로 TTL 을 건다.
+	- 스터디를 저장하는 쪽(createsStudy, StudyService.openStudy)에서 evict 해야 한다.
+	- 같은 id 를 동시에 조회하면 먼저 온 요청 하나만 DB 를 읽고 나머지는 그 결과를 같이 받는다. (single flight)
+		진행 중인 조회도 캐시에 future 로 들어가 있어서 evict 하면 그 결과는 캐시에 남지 않는다.
+		기다리는 요청은 coalesce-timeout 까지만 기다리고 StudyLoadTimeoutException (503) 으로 끝낸다.
+	- ETag 는 version 으로 만들어 같이 넣어두고, 조건부 요청은 getIfPresent 로 본문 없이 비교한다.
+	- hit/miss/eviction 은 /actuator/metrics/cache.gets?tag=cache:studyResponse 등으로 확인 가능.
+ */
+@Component
+public class StudyResponseCache {
+
+	static final String CACHE_NAME = "studyResponse";
+
+	private final Map<StudyFormat, ObjectMapper> objectMappers = new EnumMap<>(StudyFormat.class);
+
+	private final AsyncCache<Key, Entry> cache;
+
+	private final Duration coalesceTimeout;
+
+	public StudyResponseCache(
+		Jackson2ObjectMapperBuilder objectMapperBuilder,
+		MeterRegistry meterRegistry,
+		@Value("${study.cache.response.max-size:16MB}") DataSize maxSize,
+		@Value("${study.cache.response.ttl:10m}") Duration ttl,
+		@Value("${study.cache.response.coalesce-timeout:2s}") Duration coalesceTimeout
+	) {
+		for (StudyFormat format : StudyFormat.values()) {
+			objectMappers.put(format, format.createObjectMapper(objectMapperBuilder));
+		}
+		this.coalesceTimeout = coalesceTimeout;
+		this.cache = Caffeine.newBuilder()
+			.maximumWeight(maxSize.toBytes())
+			.weigher((Key key, Entry entry) -> entry.getBody().length)
+			.expireAfterWrite(ttl)
+			.recordStats()
+			.buildAsync();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), CACHE_NAME);
+	}
+
+	/*
+		캐시에 없으면 loader 로 읽어서 직렬화 후 저장한다. 없는 스터디는 캐시하지 않는다.
+		loader 는 future 를 등록한 요청의 스레드에서 돈다. (DB 조회를 공용 풀로 넘기지 않음)
+	 */
+	public Optional<Entry> get(Long id, Function<Long, Optional<Study>> loader) {
+		return get(id, StudyFormat.JSON, loader);
+	}
+
+	public Optional<Entry> get(Long id, StudyFormat format, Function<Long, Optional<Study>> loader) {
+		CompletableFuture<Entry> mine = new CompletableFuture<>();
+		CompletableFuture<Entry> shared = cache.get(new Key(id, format), (key, executor) -> mine);
+		if (shared == mine) {
+			try {
+				mine.complete(loader.apply(id).map(study -> toEntry(study, format)).orElse(null));
+			} catch (RuntimeException | Error e) {
+				mine.completeExceptionally(e);
+				throw e;
+			}
+			return Optional.ofNullable(mine.join());
+		}
+		return Optional.ofNullable(await(id, shared));
+	}
+
+	// 이미 읽어둔 응답만 돌려준다. (진행 중인 조회는 기다리지 않음)
+	public Optional<Entry> getIfPresent(Long id, StudyFormat format) {
+		CompletableFuture<Entry> entry = cache.getIfPresent(new Key(id, format));
+		if (entry == null || !entry.isDone() || entry.isCompletedExceptionally()) {
+			return Optional.empty();
+		}
+		return Optional.ofNullable(entry.getNow(null));
+	}
+
+	public void evict(Long id) {
+		if (id != null) {
+			for (StudyFormat format : StudyFormat.values()) {
+				cache.synchronous().invalidate(new Key(id, format));
+			}
+		}
+	}
+
+	private Entry await(Long id, CompletableFuture<Entry> shared) {
+		try {
+			return shared.get(coalesceTimeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			throw new StudyLoadTimeoutException(id, coalesceTimeout);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException("Study load failed for '" + id + "'", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for study '" + id + "'", e);
+		}
+	}
+
+	// 캐시에 넣지 않고 직렬화만 한다. (StudyReader 의 마지막 값으로 응답할 때)
+	Entry render(Study study, StudyFormat format) {
+		return toEntry(study, format);
+	}
+
+	private Entry toEntry(Study study, StudyFormat format) {
+		try {
+			return new Entry(objectMappers.get(format).writeValueAsBytes(study), StudyEtag.of(study, format));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Study serialization failed for '" + study.getId() + "'", e);
+		}
+	}
+
+	@EqualsAndHashCode
+	@RequiredArgsConstructor
+	private static class Key {
+
+		private final Long id;
+
+		private final StudyFormat format;
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public static class Entry {
+
+		private final byte[] body;
+
+		private final String etag;
+	}
+}
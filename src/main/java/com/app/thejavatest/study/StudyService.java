@@ -1,11 +1,19 @@
 package com.app.thejavatest.study;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
 import com.app.thejavatest.domain.Member;
+import com.app.thejavatest.domain.NotificationOutbox;
 import com.app.thejavatest.domain.Study;
 import com.app.thejavatest.member.MemberService;
 
+@Service
 public class StudyService {
 
 	// 서비스간의 의존관계도 있어서 인터페이스로 만드는게 좋아보인다.
@@ -13,11 +21,38 @@ public class StudyService {
 
 	private final StudyRepository repository;
 
+	// 응답 캐시가 없는 환경(단위 테스트 등)에서는 null
+	private final StudyResponseCache responseCache;
+
+	// outbox 가 없으면 저장 후 바로 memberService.notify 를 호출한다.
+	private final NotificationOutboxRepository outboxRepository;
+
+	private final TransactionOperations transactionOperations;
+
 	public StudyService(MemberService memberService, StudyRepository repository) {
+		this(memberService, repository, null);
+	}
+
+	public StudyService(MemberService memberService, StudyRepository repository, StudyResponseCache responseCache) {
+		this(memberService, repository, responseCache, null, TransactionOperations.withoutTransaction());
+	}
+
+	@Autowired
+	public StudyService(
+		MemberService memberService,
+		StudyRepository repository,
+		StudyResponseCache responseCache,
+		NotificationOutboxRepository outboxRepository,
+		TransactionOperations transactionOperations
+	) {
 		assert memberService != null;
 		assert repository != null;
+		assert transactionOperations != null;
 		this.memberService = memberService;
 		this.repository = repository;
+		this.responseCache = responseCache;
+		this.outboxRepository = outboxRepository;
+		this.transactionOperations = transactionOperations;
 	}
 
 	public Study createNewStudy(Long memberId, Study study) {
@@ -27,18 +62,77 @@ public class StudyService {
 		} else {
 			throw new IllegalArgumentException("Member doesn't exist for id: '" + memberId + "'");
 		}
-		Study newstudy = repository.save(study);
-		memberService.notify(newstudy);
+		// 스터디 저장과 알림 적재는 같은 트랜잭션
+		Study newstudy = transactionOperations.execute(status -> {
+			Study savedStudy = repository.save(study);
+			notify(NotificationOutbox.Type.STUDY_CREATED, savedStudy);
+			return savedStudy;
+		});
+		evictCachedResponse(newstudy);
 		return newstudy;
 	}
 
+	// 회원 확인이나 알림 없이 저장만 한다. (POST /study)
+	public Study saveStudy(Study study) {
+		Study savedStudy = repository.save(study);
+		evictCachedResponse(savedStudy);
+		return savedStudy;
+	}
+
+	/*
+		이미 저장된 스터디는 조건부 UPDATE 한번으로 연다. (DRAFT -> OPENED)
+		동시에 여러 요청이 같은 스터디를 열어도 실제로 상태를 바꾼 요청만 알림을 보낸다.
+		넘겨받은 study 는 요청 본문이라 오래된 값일 수 있으므로, 어느 요청이든 UPDATE 뒤에 저장된 상태를 다시 읽어서 돌려준다.
+	 */
 	public Study openStudy(Study study) {
+		if (study.getId() == null) {
+			return openNewStudy(study);
+		}
+
+		LocalDateTime openedDateTime = LocalDateTime.now();
+		AtomicBoolean opened = new AtomicBoolean();
+		Study current = transactionOperations.execute(status -> {
+			opened.set(repository.openIfDraft(study.getId(), openedDateTime) == 1);
+			// openIfDraft 가 영속성 컨텍스트를 비웠으므로(clearAutomatically) select 로 다시 읽는다.
+			// 레플리카는 아직 DRAFT 일 수 있으므로 같은 쓰기 트랜잭션(primary)에서 읽는다.
+			Study stored = repository.findById(study.getId()).orElse(study);
+			if (opened.get()) {
+				notify(NotificationOutbox.Type.STUDY_OPENED, stored);
+			}
+			return stored;
+		});
+		if (opened.get()) {
+			evictCachedResponse(current);
+		}
+		return current;
+	}
+
+	// 아직 저장되지 않은 스터디는 경쟁할 요청이 없으니 열어서 저장한다.
+	private Study openNewStudy(Study study) {
 		study.open();
-		Study openedStudy = repository.save(study);
-		memberService.notify(openedStudy);
+		Study openedStudy = transactionOperations.execute(status -> {
+			Study savedStudy = repository.save(study);
+			notify(NotificationOutbox.Type.STUDY_OPENED, savedStudy);
+			return savedStudy;
+		});
+		evictCachedResponse(openedStudy);
 		return openedStudy;
 	}
 
+	private void notify(NotificationOutbox.Type type, Study study) {
+		if (outboxRepository == null) {
+			memberService.notify(study);
+			return;
+		}
+		outboxRepository.save(new NotificationOutbox(type, study.getId()));
+	}
+
+	private void evictCachedResponse(Study study) {
+		if (responseCache != null) {
+			responseCache.evict(study.getId());
+		}
+	}
+
 	public void hi() {
 
 	}
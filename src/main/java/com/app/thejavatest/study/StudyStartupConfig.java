@@ -0,0 +1,23 @@
+package com.app.thejavatest.study;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+	spring.main.lazy-initialization=true (fast-startup 프로필) 에서도 시작할 때 만드는 study 빈
+
+	NotificationOutboxDispatcher: 만들어지지 않으면 @Scheduled 폴링이 시작되지 않는다.
+	JsonBindingWarmup: 첫 요청 전에 (역)직렬화기를 만들어 둔다.
+	StudyResponseCache, StudyReader: 첫 GET /study/{id} 가 캐시와 executor 를 만들지 않도록
+ */
+@Configuration
+public class StudyStartupConfig {
+
+	// BeanFactoryPostProcessor 가 쓰므로 static
+	@Bean
+	static LazyInitializationExcludeFilter eagerStudyBeans() {
+		return LazyInitializationExcludeFilter.forBeanTypes(NotificationOutboxDispatcher.class,
+			JsonBindingWarmup.class, StudyResponseCache.class, StudyReader.class);
+	}
+}
@@ -0,0 +1,41 @@
+package com.app.thejavatest.study;
+
+import org.springframework.stereotype.Component;
+
+import com.app.thejavatest.domain.TestDto;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.ValueInstantiators;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/*
+	TestDto 를 리플렉션 없이 만든다.
+
+	Blackbird 는 기본 생성자만 생성 코드로 바꿔주고, private @JsonCreator 생성자는 StdValueInstantiator 가
+	Constructor.newInstance 로 호출한다. Jackson 이 찾은 instantiator 를 TestDto.Instantiator 로 감싸서
+	생성자를 직접 호출하게 한다. (private 생성자는 중첩 클래스만 부를 수 있다)
+	Module 빈이라 JsonBindingConfig 의 Blackbird 처럼 모든 ObjectMapper 에 같이 들어간다.
+ */
+@Component
+public class TestDtoJsonModule extends SimpleModule {
+
+	public TestDtoJsonModule() {
+		super(TestDtoJsonModule.class.getSimpleName());
+	}
+
+	@Override
+	public void setupModule(SetupContext context) {
+		super.setupModule(context);
+		context.addValueInstantiators(new ValueInstantiators.Base() {
+			@Override
+			public ValueInstantiator findValueInstantiator(DeserializationConfig config, BeanDescription beanDesc,
+				ValueInstantiator defaultInstantiator) {
+				if (beanDesc.getBeanClass() == TestDto.class) {
+					return new TestDto.Instantiator(defaultInstantiator);
+				}
+				return defaultInstantiator;
+			}
+		});
+	}
+}
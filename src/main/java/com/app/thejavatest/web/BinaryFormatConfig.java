@@ -0,0 +1,31 @@
+package com.app.thejavatest.web;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/*
+	내부 서비스간 통신용 바이너리 포맷 (CBOR, Smile)
+
+	@RequestBody / 응답 객체를 Content-Type, Accept 에 따라 CBOR 나 Smile 로 읽고 쓴다.
+	스프링 부트가 HttpMessageConverter 빈을 기본 컨버터 목록에서 같은 타입 자리에 끼워주므로 JSON 이 여전히 기본이다.
+	spring.jackson.* 설정이 같이 적용되도록 부트의 Jackson2ObjectMapperBuilder 로 만든다.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
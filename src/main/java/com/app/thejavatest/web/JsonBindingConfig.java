@@ -0,0 +1,23 @@
+package com.app.thejavatest.web;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/*
+	JSON 바인딩에서 요청마다 리플렉션을 타지 않도록 Blackbird 모듈을 등록한다.
+
+	Blackbird 는 (역)직렬화기를 처음 만들 때 getter/setter 호출 코드를 LambdaMetafactory 로 생성해서
+	Method.invoke 대신 그 람다를 호출한다. Module 빈은 스프링 부트가 Jackson2ObjectMapperBuilder 에 넣어주므로
+	기본 ObjectMapper, CBOR/Smile 컨버터, StudyResponseCache 가 모두 같이 쓴다.
+	생성 비용은 기동 시점에 JsonBindingWarmup 이 미리 치른다.
+ */
+@Configuration
+public class JsonBindingConfig {
+
+	@Bean
+	public BlackbirdModule blackbirdModule() {
+		return new BlackbirdModule();
+	}
+}
@@ -0,0 +1,12 @@
+package com.app.archfixture;
+
+import org.springframework.scheduling.annotation.Async;
+
+// noBlockingIoInAsyncMethods 위반 (@Async 메소드)
+public class AsyncMethodFixture {
+
+	@Async
+	public void sleep() throws InterruptedException {
+		Thread.sleep(100);
+	}
+}
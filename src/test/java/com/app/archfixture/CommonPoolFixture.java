@@ -0,0 +1,25 @@
+package com.app.archfixture;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.app.thejavatest.domain.Study;
+
+// noBlockingIoInAsyncMethods 위반 (executor 없이 CompletableFuture.*Async)
+public class CommonPoolFixture {
+
+	FixtureRepository repository;
+
+	public CompletableFuture<Optional<Study>> findById(Long id) {
+		return CompletableFuture.supplyAsync(() -> repository.findById(id));
+	}
+
+	public CompletableFuture<List<Study>> findAll() {
+		return CompletableFuture.supplyAsync(() -> load());
+	}
+
+	private List<Study> load() {
+		return repository.findAll();
+	}
+}
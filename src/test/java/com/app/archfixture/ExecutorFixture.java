@@ -0,0 +1,19 @@
+package com.app.archfixture;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.app.thejavatest.domain.Study;
+
+// noBlockingIoInAsyncMethods 대상 아님 (블로킹 작업용 executor 를 직접 넘긴다)
+public class ExecutorFixture {
+
+	FixtureRepository repository;
+
+	Executor executor;
+
+	public CompletableFuture<Optional<Study>> findById(Long id) {
+		return CompletableFuture.supplyAsync(() -> repository.findById(id), executor);
+	}
+}
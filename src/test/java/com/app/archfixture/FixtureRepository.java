@@ -0,0 +1,21 @@
+package com.app.archfixture;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+
+import com.app.thejavatest.domain.Study;
+
+public interface FixtureRepository extends Repository<Study, Long> {
+
+	List<Study> findAll();
+
+	Page<Study> findAll(Pageable pageable);
+
+	Optional<Study> findById(Long id);
+
+	Study save(Study study);
+}
@@ -0,0 +1,18 @@
+package com.app.archfixture;
+
+import org.springframework.stereotype.Service;
+
+import com.app.thejavatest.domain.Study;
+
+// repositoryCallsInTransactions 위반
+@Service
+public class NonTransactionalService {
+
+	FixtureRepository repository;
+
+	public Study rename(Long id, String name) {
+		Study study = repository.findById(id).orElseThrow();
+		study.setName(name);
+		return repository.save(study);
+	}
+}
@@ -0,0 +1,21 @@
+package com.app.archfixture;
+
+import java.util.Optional;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.thejavatest.domain.Study;
+
+// noRepositoryCallsInControllers 위반
+@RestController
+public class RepositoryCallingController {
+
+	FixtureRepository repository;
+
+	@GetMapping("/fixture/study/{id}")
+	public Optional<Study> findById(@PathVariable Long id) {
+		return repository.findById(id);
+	}
+}
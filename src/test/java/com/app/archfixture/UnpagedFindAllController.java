@@ -0,0 +1,20 @@
+package com.app.archfixture;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.thejavatest.domain.Study;
+
+// noUnpagedFindAllInControllers 위반
+@RestController
+public class UnpagedFindAllController {
+
+	FixtureRepository repository;
+
+	@GetMapping("/fixture/studies")
+	public List<Study> findAll() {
+		return repository.findAll();
+	}
+}
@@ -0,0 +1,12 @@
+package com.app.archfixture.domain;
+
+import javax.persistence.ManyToOne;
+
+import com.app.thejavatest.domain.Study;
+
+// noEagerAssociationsInDomain 위반 (@ManyToOne 기본값 EAGER)
+public class EagerAssociation {
+
+	@ManyToOne
+	private Study study;
+}
@@ -1,38 +1,185 @@
 package com.app.thejavatest;
 
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestInstancePostProcessor;
+
+/*
+	테스트 실행 시간 프로파일러
+
+	META-INF/services 로 모든 테스트에 자동 등록된다. 설정은 junit-platform.properties 의 test.profiler.*
+
+	- 테스트마다 실행 시간과 @BeforeEach / @AfterEach 시간을 nanoTime 으로 잰다.
+	- 테스트 클래스마다 테스트 밖에서 쓴 시간 (스프링 컨텍스트 로딩, @BeforeAll / @AfterAll 등) 을 잰다.
+	- 실행 시간은 TestDurationHistory 파일에 남겨서 이전 실행들의 중앙값보다 크게 느려지면 [REGRESSION] 으로 남긴다.
+	- 중앙값이 slow-threshold 를 넘는데 @SlowTest 가 아니거나 @FastTest 면, 넘지 않는데 @SlowTest 면 태그를 바꾸라고 남긴다.
+		enforce-tags=true 면 어느 쪽이든 그 테스트를 실패시킨다.
+	- 찾은 내용은 모두 TestDurationHistory 에 모아서 전체 실행이 끝날 때 가장 느린 테스트, 클래스와 같이 리포트로 출력하고 파일에 쓴다.
+
+	StudyTest 처럼 @RegisterExtension 으로 한번 더 등록돼도 같은 store 를 보므로 한번만 기록한다.
+ */
+public class FindSlowTestExtension implements TestInstancePostProcessor, BeforeAllCallback, AfterAllCallback,
+	BeforeEachCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback, AfterEachCallback {
+
+	private static final ExtensionContext.Namespace NAMESPACE =
+		ExtensionContext.Namespace.create(FindSlowTestExtension.class);
 
-public class FindSlowTestExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+	private static final String SLOW_THRESHOLD = "test.profiler.slow-threshold";
 
-	private static final long THRESHOLD = 1000L;
+	private static final String REGRESSION_FACTOR = "test.profiler.regression-factor";
 
+	private static final String REGRESSION_MIN = "test.profiler.regression-min";
+
+	private static final String ENFORCE_TAGS = "test.profiler.enforce-tags";
+
+	// PER_CLASS 면 스프링 컨텍스트는 @BeforeAll 전에 인스턴스 후처리에서 뜨므로 여기서부터 잰다.
 	@Override
-	public void afterTestExecution(ExtensionContext context) throws Exception {
-		String testMethodName = context.getRequiredTestMethod().getName();
-		ExtensionContext.Store store = getStore(context);
+	public void postProcessTestInstance(Object testInstance, ExtensionContext context) {
+		if (context.getTestMethod().isEmpty()) {
+			classTiming(context);
+		}
+	}
+
+	@Override
+	public void beforeAll(ExtensionContext context) {
+		classTiming(context);
+	}
 
-		SlowTest annotation = context.getRequiredTestMethod().getAnnotation(SlowTest.class);
-		Long start_time = store.remove("START_TIME", long.class);
-		long duration = System.currentTimeMillis() - start_time;
-		if (duration > THRESHOLD && annotation == null) {
-			System.out.printf("Please consider mark method [%s] with @SlowTest.\n", testMethodName);
+	@Override
+	public void afterAll(ExtensionContext context) {
+		ClassTiming timing = context.getStore(NAMESPACE).remove(ClassTiming.class, ClassTiming.class);
+		if (timing == null) {
+			return;
 		}
+		long outsideTests = System.nanoTime() - timing.start - timing.tests.get();
+		TestDurationHistory history = TestDurationHistory.of(context);
+		Optional<Long> median = history.median(context.getUniqueId());
+		history.recordContainer(context.getUniqueId(), context.getDisplayName(), outsideTests);
+		median.ifPresent(previous -> reportRegression(context, context.getDisplayName() + " (outside tests)",
+			outsideTests, previous, history.runs(context.getUniqueId())));
+	}
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		context.getStore(NAMESPACE).getOrComputeIfAbsent(TestTiming.class, key -> new TestTiming(), TestTiming.class);
 	}
 
 	@Override
-	public void beforeTestExecution(ExtensionContext context) throws Exception {
-		ExtensionContext.Store store = getStore(context);
-		store.put("START_TIME", System.currentTimeMillis());
-	}
-
-	private ExtensionContext.Store getStore(
-		ExtensionContext context
-	) {
-		String testClassName = context.getRequiredTestClass().getName();
-		String testMethodName = context.getRequiredTestMethod().getName();
-		return context.getStore(
-			ExtensionContext.Namespace.create(testClassName, testMethodName));
+	public void beforeTestExecution(ExtensionContext context) {
+		TestTiming timing = testTiming(context);
+		if (timing != null && timing.beforeExecution == 0) {
+			timing.beforeExecution = System.nanoTime();
+		}
+	}
+
+	@Override
+	public void afterTestExecution(ExtensionContext context) {
+		TestTiming timing = testTiming(context);
+		if (timing != null && timing.afterExecution == 0) {
+			timing.afterExecution = System.nanoTime();
+		}
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		TestTiming timing = context.getStore(NAMESPACE).remove(TestTiming.class, TestTiming.class);
+		if (timing == null || timing.beforeExecution == 0 || timing.afterExecution == 0) {
+			return;
+		}
+		long end = System.nanoTime();
+		long execution = timing.afterExecution - timing.beforeExecution;
+		long setup = timing.beforeExecution - timing.beforeEach;
+		long teardown = end - timing.afterExecution;
+		context.getParent()
+			.map(parent -> parent.getStore(NAMESPACE).get(ClassTiming.class, ClassTiming.class))
+			.ifPresent(classTiming -> classTiming.tests.addAndGet(end - timing.beforeEach));
+
+		String id = context.getUniqueId();
+		String name = context.getRequiredTestClass().getSimpleName() + " > " + context.getDisplayName();
+		TestDurationHistory history = TestDurationHistory.of(context);
+		Optional<Long> previous = history.median(id);
+		history.recordTest(id, name, execution, setup, teardown);
+		previous.ifPresent(median -> reportRegression(context, name, execution, median, history.runs(id)));
+		checkTags(context, name, history.medianWithCurrent(id));
+	}
+
+	private void reportRegression(ExtensionContext context, String name, long nanos, long median, int runs) {
+		double factor = Double.parseDouble(parameter(context, REGRESSION_FACTOR, "2.0"));
+		long min = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(parameter(context, REGRESSION_MIN, "100")));
+		if (nanos > median * factor && nanos - median > min) {
+			TestDurationHistory.of(context).regression(String.format("[REGRESSION] %s took %.1fms (median %.1fms over %d runs)",
+				name, millis(nanos), millis(median), runs));
+		}
+	}
+
+	// 한번 튄 실행으로 태그를 바꾸지 않도록 이번 실행을 포함한 중앙값으로 본다.
+	private void checkTags(ExtensionContext context, String name, long median) {
+		long threshold = TimeUnit.MILLISECONDS.toNanos(Long.parseLong(parameter(context, SLOW_THRESHOLD, "1000")));
+		boolean slow = context.getTags().contains("slow");
+		boolean fast = context.getTags().contains("fast");
+
+		String message = null;
+		if (median > threshold && fast) {
+			message = String.format("[%s] is marked @FastTest but its median is %.1fms. Please mark it with @SlowTest.",
+				name, millis(median));
+		} else if (median > threshold && !slow) {
+			message = String.format("Please consider mark method [%s] with @SlowTest. (median %.1fms)",
+				name, millis(median));
+		} else if (median <= threshold && slow) {
+			message = String.format("[%s] is marked @SlowTest but its median is %.1fms. Please mark it with @FastTest.",
+				name, millis(median));
+		}
+		if (message == null) {
+			return;
+		}
+		TestDurationHistory.of(context).suggest(message);
+		if (Boolean.parseBoolean(parameter(context, ENFORCE_TAGS, "false"))) {
+			fail(message);
+		}
+	}
+
+	private ClassTiming classTiming(ExtensionContext context) {
+		return context.getStore(NAMESPACE)
+			.getOrComputeIfAbsent(ClassTiming.class, key -> new ClassTiming(), ClassTiming.class);
+	}
+
+	private TestTiming testTiming(ExtensionContext context) {
+		return context.getStore(NAMESPACE).get(TestTiming.class, TestTiming.class);
+	}
+
+	static String parameter(ExtensionContext context, String key, String defaultValue) {
+		return context.getConfigurationParameter(key).orElse(defaultValue);
+	}
+
+	static double millis(long nanos) {
+		return nanos / 1_000_000.0;
+	}
+
+	private static class ClassTiming {
+
+		private final long start = System.nanoTime();
+
+		// 테스트마다 @BeforeEach ~ @AfterEach 시간의 합
+		private final AtomicLong tests = new AtomicLong();
+	}
+
+	private static class TestTiming {
+
+		private final long beforeEach = System.nanoTime();
+
+		private long beforeExecution;
+
+		private long afterExecution;
 	}
 }
@@ -0,0 +1,32 @@
+package com.app.thejavatest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+/*
+	SharedPostgresContainer 로 전체 애플리케이션 컨텍스트를 띄우는 테스트
+
+	설정이 모두 같아야 스프링 테스트 컨텍스트 캐시가 맞아서 테스트 클래스끼리 컨텍스트를 같이 쓴다.
+	@MockBean, @TestPropertySource, properties 등을 클래스에 더하면 캐시 키가 달라져 컨텍스트를 새로 띄우므로
+	필요하면 여기에 더하거나 직접 만든 객체로 테스트한다. (StudyServiceTest 처럼)
+	같은 DB 를 쓰므로 병렬 실행 중에도 이 JVM 안에서는 한 클래스씩 돈다. (TestResources.POSTGRES)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@ContextConfiguration(initializers = SharedPostgresContainer.Initializer.class)
+@ExtendWith(TruncateTablesExtension.class)
+@ResourceLock(TestResources.POSTGRES)
+public @interface PostgresTest {
+}
@@ -0,0 +1,107 @@
+package com.app.thejavatest;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.output.Slf4jLogConsumer;
+
+/*
+	JVM 에 하나만 띄우는 Postgres 컨테이너 (@PostgresTest)
+
+	@Container 나 jdbc:tc: URL 은 테스트 클래스나 컨텍스트마다 컨테이너를 새로 띄우고 스키마를 다시 만든다.
+	여기서는 처음 쓸 때 한번 띄우고 JVM 이 끝날 때 Testcontainers(Ryuk) 가 정리한다.
+	스키마는 ddl-auto=update 로 처음 뜬 컨텍스트가 한번 만들고, 데이터는 TruncateTablesExtension 이 테스트 클래스마다 비운다.
+
+	테스트용 DB 라서 디스크 동기화를 끈다. (fsync, synchronous_commit, full_page_writes)
+	~/.testcontainers.properties 에 testcontainers.reuse.enable=true 를 두면 실행 간에도 컨테이너를 재사용한다.
+
+	Gradle 이 maxParallelForks 로 JVM 을 나누면 재사용하는 컨테이너를 같이 쓰게 되므로
+	JVM(org.gradle.test.worker) 마다 데이터베이스를 새로 만들어서 쓰고 JVM 이 끝날 때 지운다.
+ */
+public final class SharedPostgresContainer {
+
+	private SharedPostgresContainer() {
+	}
+
+	public static PostgreSQLContainer<?> getInstance() {
+		return Holder.CONTAINER;
+	}
+
+	// 이 JVM 이 쓰는 데이터베이스
+	public static String getDatabaseName() {
+		return Holder.DATABASE;
+	}
+
+	public static String getJdbcUrl() {
+		PostgreSQLContainer<?> container = getInstance();
+		return String.format("jdbc:postgresql://%s:%d/%s",
+			container.getHost(), container.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT), getDatabaseName());
+	}
+
+	// 스프링 테스트 컨텍스트가 컨테이너를 보도록 datasource 프로퍼티를 넣어준다.
+	public static class Initializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+		@Override
+		public void initialize(ConfigurableApplicationContext context) {
+			PostgreSQLContainer<?> container = getInstance();
+			TestPropertyValues.of(
+				"spring.datasource.url=" + getJdbcUrl(),
+				"spring.datasource.username=" + container.getUsername(),
+				"spring.datasource.password=" + container.getPassword(),
+				"spring.datasource.driver-class-name=" + container.getDriverClassName()
+			).applyTo(context.getEnvironment());
+		}
+	}
+
+	private static class Holder {
+
+		private static final PostgreSQLContainer<?> CONTAINER = start();
+
+		private static final String DATABASE =
+			createDatabase("studytest_" + System.getProperty("org.gradle.test.worker", "0"));
+
+		private static PostgreSQLContainer<?> start() {
+			PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:14-alpine")
+				.withDatabaseName("studytest")
+				.withUsername("studytest")
+				.withPassword("studytest")
+				.withCommand("postgres", "-c", "fsync=off", "-c", "synchronous_commit=off", "-c", "full_page_writes=off")
+				.withReuse(true);
+			container.start();
+			// log streaming
+			container.followOutput(new Slf4jLogConsumer(LoggerFactory.getLogger(SharedPostgresContainer.class)));
+			return container;
+		}
+
+		// 이전 실행에서 지우지 못한 같은 이름의 데이터베이스가 있으면 지우고 새로 만든다.
+		private static String createDatabase(String database) {
+			execute("DROP DATABASE IF EXISTS " + database, "CREATE DATABASE " + database);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+				} catch (IllegalStateException e) {
+					// 재사용하지 않는 컨테이너는 어차피 같이 정리된다.
+				}
+			}));
+			return database;
+		}
+
+		// 컨테이너의 기본 데이터베이스(studytest) 에 붙어서 실행한다.
+		private static void execute(String... sqls) {
+			try (Connection connection = CONTAINER.createConnection("");
+				 Statement statement = connection.createStatement()) {
+				for (String sql : sqls) {
+					statement.execute(sql);
+				}
+			} catch (SQLException e) {
+				throw new IllegalStateException("Could not execute " + String.join("; ", sqls), e);
+			}
+		}
+	}
+}
@@ -0,0 +1,225 @@
+package com.app.thejavatest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/*
+	FindSlowTestExtension 이 잰 실행 시간을 실행 간에 남긴다.
+
+	전체 테스트 실행(루트 ExtensionContext) 마다 하나 만들어지고, 실행이 끝나서 닫힐 때 리포트(report-<pid>.txt)를 출력하고 파일에 쓴다.
+	리포트에는 가장 느린 테스트, 클래스와 FindSlowTestExtension 이 찾은 regression, 태그 제안이 들어간다.
+	파일은 한 줄에 "unique id<TAB>이전 실행 시간들(nanos, 쉼표 구분)" 이고 id 마다 최근 history-size 개만 남긴다.
+	Gradle 이 여러 JVM 으로 나눠 돌려도 섞이지 않도록 lock 을 잡고 다시 읽어서 합친 뒤 쓴다.
+ */
+class TestDurationHistory implements ExtensionContext.Store.CloseableResource {
+
+	private static final ExtensionContext.Namespace NAMESPACE =
+		ExtensionContext.Namespace.create(TestDurationHistory.class);
+
+	private final Path file;
+
+	private final int size;
+
+	private final int reportSize;
+
+	private final Map<String, List<Long>> previous;
+
+	private final Map<String, Long> tests = new ConcurrentHashMap<>();
+
+	private final Map<String, Long> containers = new ConcurrentHashMap<>();
+
+	private final Map<String, String> names = new ConcurrentHashMap<>();
+
+	private final Map<String, long[]> setupAndTeardown = new ConcurrentHashMap<>();
+
+	private final Queue<String> regressions = new ConcurrentLinkedQueue<>();
+
+	private final Queue<String> suggestions = new ConcurrentLinkedQueue<>();
+
+	private TestDurationHistory(Path file, int size, int reportSize) {
+		this.file = file;
+		this.size = size;
+		this.reportSize = reportSize;
+		this.previous = read(file);
+	}
+
+	static TestDurationHistory of(ExtensionContext context) {
+		return context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(TestDurationHistory.class, key ->
+			new TestDurationHistory(
+				Paths.get(FindSlowTestExtension.parameter(context, "test.profiler.history-file",
+					"build/test-profile/test-durations.tsv")),
+				Integer.parseInt(FindSlowTestExtension.parameter(context, "test.profiler.history-size", "10")),
+				Integer.parseInt(FindSlowTestExtension.parameter(context, "test.profiler.report-size", "10"))),
+			TestDurationHistory.class);
+	}
+
+	// 이전 실행들의 중앙값
+	Optional<Long> median(String id) {
+		List<Long> durations = previous.getOrDefault(id, Collections.emptyList());
+		return durations.isEmpty() ? Optional.empty() : Optional.of(median(durations));
+	}
+
+	long medianWithCurrent(String id) {
+		List<Long> durations = new ArrayList<>(previous.getOrDefault(id, Collections.emptyList()));
+		Optional.ofNullable(tests.get(id)).ifPresent(durations::add);
+		return median(durations);
+	}
+
+	int runs(String id) {
+		return previous.getOrDefault(id, Collections.emptyList()).size();
+	}
+
+	void recordTest(String id, String name, long execution, long setup, long teardown) {
+		tests.put(id, execution);
+		names.put(id, name);
+		setupAndTeardown.put(id, new long[] {setup, teardown});
+	}
+
+	void recordContainer(String id, String name, long outsideTests) {
+		containers.put(id, outsideTests);
+		names.put(id, name);
+	}
+
+	void regression(String message) {
+		regressions.add(message);
+	}
+
+	void suggest(String message) {
+		suggestions.add(message);
+	}
+
+	@Override
+	public void close() {
+		try {
+			String report = report();
+			if (!report.isEmpty()) {
+				System.out.print(report);
+				// Gradle 은 테스트 밖의 출력을 보여주지 않으므로 JVM 마다 파일로도 남긴다.
+				Files.createDirectories(reportDirectory());
+				Files.write(reportDirectory().resolve("report-" + ProcessHandle.current().pid() + ".txt"),
+					report.getBytes(StandardCharsets.UTF_8));
+			}
+			save();
+		} catch (IOException e) {
+			System.out.printf("Could not save test durations to %s: %s%n", file, e);
+		}
+	}
+
+	private String report() {
+		if (tests.isEmpty()) {
+			return "";
+		}
+		StringBuilder report = new StringBuilder();
+		report.append(String.format("%n# Slowest tests (execution / setup / teardown)%n"));
+		slowest(tests).forEach(entry -> {
+			long[] extra = setupAndTeardown.get(entry.getKey());
+			report.append(String.format("%10.1fms %8.1fms %8.1fms  %s%n",
+				FindSlowTestExtension.millis(entry.getValue()), FindSlowTestExtension.millis(extra[0]),
+				FindSlowTestExtension.millis(extra[1]), names.get(entry.getKey())));
+		});
+		report.append(String.format("%n# Slowest test classes outside tests (context loading, @BeforeAll, @AfterAll)%n"));
+		slowest(containers).forEach(entry -> report.append(String.format("%10.1fms  %s%n",
+			FindSlowTestExtension.millis(entry.getValue()), names.get(entry.getKey()))));
+		if (!regressions.isEmpty()) {
+			report.append(String.format("%n# Regressions%n"));
+			regressions.forEach(regression -> report.append(regression).append(System.lineSeparator()));
+		}
+		if (!suggestions.isEmpty()) {
+			report.append(String.format("%n# Tagging suggestions%n"));
+			suggestions.forEach(suggestion -> report.append(suggestion).append(System.lineSeparator()));
+		}
+		return report.toString();
+	}
+
+	private Path reportDirectory() {
+		Path parent = file.toAbsolutePath().getParent();
+		return parent == null ? Paths.get(".") : parent;
+	}
+
+	private List<Map.Entry<String, Long>> slowest(Map<String, Long> durations) {
+		return durations.entrySet().stream()
+			.sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+			.limit(reportSize)
+			.collect(Collectors.toList());
+	}
+
+	private void save() throws IOException {
+		Files.createDirectories(reportDirectory());
+		Path lockFile = file.resolveSibling(file.getFileName() + ".lock");
+		try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			 FileLock lock = channel.lock()) {
+			Map<String, List<Long>> merged = new LinkedHashMap<>(read(file));
+			append(merged, tests);
+			append(merged, containers);
+
+			List<String> lines = merged.entrySet().stream()
+				.map(entry -> entry.getKey() + "\t" + entry.getValue().stream()
+					.map(String::valueOf)
+					.collect(Collectors.joining(",")))
+				.collect(Collectors.toList());
+			Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+			Files.write(temp, lines, StandardCharsets.UTF_8);
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+	}
+
+	private void append(Map<String, List<Long>> history, Map<String, Long> current) {
+		current.forEach((id, nanos) -> {
+			List<Long> durations = new ArrayList<>(history.getOrDefault(id, Collections.emptyList()));
+			durations.add(nanos);
+			history.put(id, durations.subList(Math.max(0, durations.size() - size), durations.size()));
+		});
+	}
+
+	private static Map<String, List<Long>> read(Path file) {
+		if (!Files.exists(file)) {
+			return new LinkedHashMap<>();
+		}
+		try {
+			Map<String, List<Long>> history = new LinkedHashMap<>();
+			for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+				int tab = line.lastIndexOf('\t');
+				if (tab <= 0 || tab == line.length() - 1) {
+					continue;
+				}
+				history.put(line.substring(0, tab), Arrays.stream(line.substring(tab + 1).split(","))
+					.map(Long::valueOf)
+					.collect(Collectors.toList()));
+			}
+			return history;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (NumberFormatException e) {
+			// 형식이 깨진 파일은 버리고 새로 쌓는다.
+			return new LinkedHashMap<>();
+		}
+	}
+
+	private static long median(List<Long> durations) {
+		List<Long> sorted = new ArrayList<>(durations);
+		Collections.sort(sorted);
+		return sorted.get(sorted.size() / 2);
+	}
+}
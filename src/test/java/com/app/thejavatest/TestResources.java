@@ -0,0 +1,19 @@
+package com.app.thejavatest;
+
+/*
+	@ResourceLock 키
+
+	junit-platform.properties 에서 테스트 클래스끼리 병렬로 돌리므로 같은 DB 를 쓰는 클래스는 같은 키로 lock 을 잡는다.
+	Gradle 포크(JVM) 끼리는 DB 가 따로라서 lock 은 JVM 안에서만 잡으면 된다.
+ */
+public final class TestResources {
+
+	// SharedPostgresContainer 에서 이 JVM 이 쓰는 데이터베이스 (@PostgresTest)
+	public static final String POSTGRES = "postgres";
+
+	// @StudyJpaTest 컨텍스트의 임베디드 DB
+	public static final String STUDY_JPA_DATABASE = "study-jpa-database";
+
+	private TestResources() {
+	}
+}
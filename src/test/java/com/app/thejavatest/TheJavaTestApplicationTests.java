@@ -1,9 +1,8 @@
 package com.app.thejavatest;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@PostgresTest
 class TheJavaTestApplicationTests {
 
 	@Test
@@ -0,0 +1,47 @@
+package com.app.thejavatest;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/*
+	테스트 클래스를 시작하기 전에 스프링 테스트 컨텍스트 DB 의 모든 테이블을 비운다.
+
+	컨텍스트 캐시로 여러 테스트 클래스가 같은 DB 를 쓰게 되므로 스키마를 다시 만드는 대신 데이터만 지운다.
+	시퀀스는 그대로 둔다. (Hibernate 가 미리 받아둔 id 와 겹치지 않도록)
+ */
+public class TruncateTablesExtension implements BeforeAllCallback {
+
+	@Override
+	public void beforeAll(ExtensionContext context) throws Exception {
+		DataSource dataSource = SpringExtension.getApplicationContext(context).getBean(DataSource.class);
+		try (Connection connection = dataSource.getConnection();
+			 Statement statement = connection.createStatement()) {
+			for (String table : tables(connection)) {
+				statement.addBatch("TRUNCATE TABLE " + table);
+			}
+			statement.executeBatch();
+		}
+	}
+
+	private List<String> tables(Connection connection) throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		List<String> tables = new ArrayList<>();
+		try (ResultSet resultSet = metaData.getTables(null, connection.getSchema(), "%", new String[] {"TABLE"})) {
+			while (resultSet.next()) {
+				tables.add(resultSet.getString("TABLE_NAME"));
+			}
+		}
+		return tables;
+	}
+}
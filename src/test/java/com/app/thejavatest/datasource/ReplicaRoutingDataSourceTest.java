@@ -0,0 +1,146 @@
+package com.app.thejavatest.datasource;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.servlet.http.Cookie;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// primary, 레플리카 대신 이름만 다른 H2 메모리 DB 를 띄우고 어느 DB 에서 읽었는지 확인한다.
+class ReplicaRoutingDataSourceTest {
+
+	HikariDataSource primary;
+
+	HikariDataSource replica0;
+
+	HikariDataSource replica1;
+
+	ReplicaRoutingDataSource routingDataSource;
+
+	JdbcTemplate jdbcTemplate;
+
+	TransactionTemplate readOnly;
+
+	TransactionTemplate readWrite;
+
+	@BeforeEach
+	void beforeEach() {
+		primary = node("primary");
+		replica0 = node("replica-0");
+		replica1 = node("replica-1");
+	}
+
+	@AfterEach
+	void afterEach() {
+		routingDataSource.close();
+	}
+
+	@Test
+	@DisplayName("읽기 전용 트랜잭션은 레플리카를 돌아가며, 쓰기와 트랜잭션 없는 호출은 primary 로 간다.")
+	void route_by_transaction() {
+		route(ReplicaSelection.ROUND_ROBIN);
+
+		assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-0");
+		assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-1");
+		assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-0");
+		assertThat(readWrite.execute(status -> currentNode())).isEqualTo("primary");
+		assertThat(currentNode()).isEqualTo("primary");
+	}
+
+	@Test
+	@DisplayName("least-loaded 는 사용 중인 커넥션이 적은 레플리카를 고른다.")
+	void least_loaded() throws Exception {
+		route(ReplicaSelection.LEAST_LOADED);
+
+		try (Connection busy = replica0.getConnection()) {
+			assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-1");
+			assertThat(readOnly.execute(status -> currentNode())).isEqualTo("replica-1");
+		}
+	}
+
+	@Test
+	@DisplayName("쓴 요청은 그 뒤로 primary 에서 읽고, 쿠키를 가진 다음 요청도 primary 에서 읽는다.")
+	void read_your_writes() throws Exception {
+		route(ReplicaSelection.ROUND_ROBIN);
+		ReadYourWritesFilter filter = new ReadYourWritesFilter();
+		AtomicReference<String> readAfterWrite = new AtomicReference<>();
+
+		MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("POST", "/study"), writeResponse, (request, response) -> {
+			readWrite.execute(status -> jdbcTemplate.update("update node set name = name"));
+			readAfterWrite.set(readOnly.execute(status -> currentNode()));
+		});
+		Cookie cookie = writeResponse.getCookie(ReadYourWrites.COOKIE);
+
+		assertThat(readAfterWrite.get()).isEqualTo("primary");
+		assertThat(cookie).isNotNull();
+		assertThat(cookie.getMaxAge()).isEqualTo(5);
+
+		MockHttpServletRequest readRequest = new MockHttpServletRequest("GET", "/study/1");
+		readRequest.setCookies(cookie);
+		filter.doFilter(readRequest, new MockHttpServletResponse(), (request, response) -> {
+			// StudyReader 처럼 다른 스레드에서 조회해도 요청 스레드의 결정을 따른다.
+			readAfterWrite.set(CompletableFuture.supplyAsync(
+				ReadYourWrites.propagate(() -> readOnly.execute(status -> currentNode()))).join());
+		});
+		assertThat(readAfterWrite.get()).isEqualTo("primary");
+
+		filter.doFilter(new MockHttpServletRequest("GET", "/study/1"), new MockHttpServletResponse(),
+			(request, response) -> readAfterWrite.set(readOnly.execute(status -> currentNode())));
+		assertThat(readAfterWrite.get()).startsWith("replica-");
+	}
+
+	@Test
+	@DisplayName("요청 밖의 쓰기는 스레드를 primary 로 고정하지 않는다.")
+	void write_outside_request() {
+		route(ReplicaSelection.ROUND_ROBIN);
+
+		readWrite.execute(status -> jdbcTemplate.update("update node set name = name"));
+
+		assertThat(ReadYourWrites.isPinned()).isFalse();
+		assertThat(readOnly.execute(status -> currentNode())).startsWith("replica-");
+	}
+
+	private void route(ReplicaSelection selection) {
+		routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica0, replica1), selection,
+			Duration.ofSeconds(5));
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		readOnly = new TransactionTemplate(transactionManager);
+		readOnly.setReadOnly(true);
+		readWrite = new TransactionTemplate(transactionManager);
+	}
+
+	private String currentNode() {
+		return jdbcTemplate.queryForObject("select name from node", String.class);
+	}
+
+	private HikariDataSource node(String name) {
+		HikariDataSource dataSource = new HikariDataSource();
+		dataSource.setJdbcUrl("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+		dataSource.setUsername("sa");
+		dataSource.setPoolName(name);
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("create table node (name varchar(20))");
+		jdbcTemplate.update("insert into node (name) values (?)", name);
+		return dataSource;
+	}
+}
@@ -0,0 +1,39 @@
+package com.app.thejavatest.datasource;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+/*
+	SQL 실행 수 예산. N+1 처럼 SQL 이 늘어나는 변경이 들어오면 테스트가 깨지게 한다.
+
+	mockMvc.perform(get("/study/{id}", id)).andExpect(SqlStatementBudget.atMost(1));
+	SqlStatementStats stats = SqlStatementBudget.measure(() -> studyService.openStudy(study));
+ */
+public final class SqlStatementBudget {
+
+	private SqlStatementBudget() {
+	}
+
+	// datasource.statements.response-header=true 여야 한다.
+	public static ResultMatcher atMost(int statements) {
+		return result -> {
+			String header = result.getResponse().getHeader(SqlStatementFilter.STATEMENTS_HEADER);
+			assertThat(header).as("%s header", SqlStatementFilter.STATEMENTS_HEADER).isNotNull();
+			assertThat(Integer.parseInt(header))
+				.as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+				.isLessThanOrEqualTo(statements);
+		};
+	}
+
+	// 요청 밖에서 Hibernate 로 실행한 SQL 을 센다.
+	public static SqlStatementStats measure(Runnable work) {
+		SqlStatementStats stats = SqlStatementStats.begin();
+		try {
+			work.run();
+		} finally {
+			SqlStatementStats.end();
+		}
+		return stats;
+	}
+}
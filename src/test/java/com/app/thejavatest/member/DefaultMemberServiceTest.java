@@ -0,0 +1,96 @@
+package com.app.thejavatest.member;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import com.app.thejavatest.domain.Member;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Import({DefaultMemberService.class, SimpleMeterRegistry.class})
+class DefaultMemberServiceTest {
+
+	@Autowired DefaultMemberService memberService;
+
+	@Autowired MemberRepository memberRepository;
+
+	@Autowired SimpleMeterRegistry meterRegistry;
+
+	Member keesun;
+
+	Member whiteship;
+
+	@BeforeEach
+	void beforeEach() {
+		keesun = memberRepository.save(member("keesun@email.com"));
+		whiteship = memberRepository.save(member("whiteship@email.com"));
+	}
+
+	@Test
+	@DisplayName("한번 조회한 멤버는 DB 를 다시 읽지 않고 캐시에서 찾는다.")
+	void findById_cached() {
+		memberService.findById(keesun.getId());
+		memberRepository.deleteById(keesun.getId());
+		memberRepository.flush();
+
+		assertThat(memberService.findById(keesun.getId())).isPresent();
+		assertThatCode(() -> memberService.validate(keesun.getId())).doesNotThrowAnyException();
+		assertThat(cacheGets("hit")).isEqualTo(2);
+		assertThat(cacheGets("miss")).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("없는 멤버는 캐시하지 않고, 검증에 실패한다.")
+	void validate_missing() {
+		assertThatIllegalArgumentException().isThrownBy(() -> memberService.validate(-1L));
+
+		Member newMember = memberRepository.save(member("new@email.com"));
+		assertThatCode(() -> memberService.validate(newMember.getId())).doesNotThrowAnyException();
+	}
+
+	@Test
+	@DisplayName("findAllById 는 캐시에 없는 멤버만 모아서 읽는다.")
+	void findAllById() {
+		memberService.findById(keesun.getId());
+
+		List<Member> members = memberService.findAllById(List.of(keesun.getId(), whiteship.getId(), -1L));
+
+		assertThat(members).extracting(Member::getEmail)
+			.containsExactlyInAnyOrder("keesun@email.com", "whiteship@email.com");
+		assertThat(cacheGets("hit")).isEqualTo(1);
+		assertThat(cacheGets("miss")).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("email 로 찾은 멤버는 id 캐시에도 들어간다.")
+	void findByEmail() {
+		assertThat(memberService.findByEmail("whiteship@email.com")).map(Member::getId).contains(whiteship.getId());
+
+		memberService.findById(whiteship.getId());
+
+		assertThat(cacheGets("hit")).isEqualTo(1);
+	}
+
+	private Member member(String email) {
+		Member member = new Member();
+		member.setEmail(email);
+		return member;
+	}
+
+	private double cacheGets(String result) {
+		return meterRegistry.get("cache.gets")
+			.tag("cache", DefaultMemberService.CACHE_NAME)
+			.tag("result", result)
+			.functionCounter()
+			.count();
+	}
+}
@@ -0,0 +1,68 @@
+package com.app.thejavatest.startup;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.mock.env.MockEnvironment;
+
+class FastStartupEnvironmentPostProcessorTest {
+
+	FastStartupEnvironmentPostProcessor postProcessor = new FastStartupEnvironmentPostProcessor(Supplier<Log>::get);
+
+	@Test
+	@DisplayName("fast-startup 에서 카오스 멍키가 꺼져 있으면 chaos-monkey 프로필을 뺀다.")
+	void skip_disabled_chaos_monkey() {
+		MockEnvironment environment = environment("chaos-monkey", "fast-startup");
+
+		postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+		assertThat(environment.getActiveProfiles()).containsExactly("fast-startup");
+	}
+
+	@Test
+	@DisplayName("chaos.monkey.enabled=true 면 chaos-monkey 프로필을 남긴다.")
+	void keep_enabled_chaos_monkey() {
+		MockEnvironment environment = environment("chaos-monkey", "fast-startup")
+			.withProperty("chaos.monkey.enabled", "true");
+
+		postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+		assertThat(environment.getActiveProfiles()).containsExactly("chaos-monkey", "fast-startup");
+	}
+
+	@Test
+	@DisplayName("fast-startup 이 아니면 프로필을 바꾸지 않는다.")
+	void keep_profiles_without_fast_startup() {
+		MockEnvironment environment = environment("chaos-monkey");
+
+		postProcessor.postProcessEnvironment(environment, new SpringApplication());
+
+		assertThat(environment.getActiveProfiles()).containsExactly("chaos-monkey");
+	}
+
+	@Test
+	@DisplayName("fast-startup 일 때만 시작 단계를 BufferingApplicationStartup 에 모은다.")
+	void buffer_startup_steps_only_with_fast_startup() {
+		SpringApplication fastStartup = new SpringApplication();
+		SpringApplication other = new SpringApplication();
+
+		postProcessor.postProcessEnvironment(environment("fast-startup"), fastStartup);
+		postProcessor.postProcessEnvironment(environment("chaos-monkey"), other);
+
+		assertThat(fastStartup.getApplicationStartup()).isInstanceOf(BufferingApplicationStartup.class);
+		assertThat(other.getApplicationStartup()).isSameAs(ApplicationStartup.DEFAULT);
+	}
+
+	private MockEnvironment environment(String... profiles) {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles(profiles);
+		return environment;
+	}
+}
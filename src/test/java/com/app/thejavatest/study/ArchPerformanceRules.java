@@ -0,0 +1,278 @@
+package com.app.thejavatest.study;
+
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import javax.persistence.ElementCollection;
+import javax.persistence.FetchType;
+import javax.persistence.ManyToMany;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+
+import org.springframework.data.repository.Repository;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.client.RestOperations;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnit;
+import com.tngtech.archunit.core.domain.JavaMember;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaMethodCall;
+import com.tngtech.archunit.junit.ArchTest;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+/*
+	# 성능 규칙 모음
+
+	부하 테스트까지 가기 전에 빌드에서 데이터 접근 안티 패턴을 잡는다.
+	ArchRules.in(ArchPerformanceRules.class) 로 다른 테스트 클래스에서도 그대로 쓸 수 있다. (ArchPerformanceTests)
+
+	- 컨트롤러에서 페이징 없는 findAll() 호출 금지
+	- 컨트롤러에서 repository 직접 호출 금지, 서비스에서 repository 를 두번 이상 부르는 메소드는 트랜잭션 안에서
+	- domain 엔티티의 EAGER 연관관계 금지
+	- @Async 메소드, executor 없이 CompletableFuture.*Async 에 넘긴 람다에서 블로킹 I/O 금지
+
+	람다는 바이트코드에서 lambda$<감싼 메소드>$N 이라는 별도 메소드가 되므로 감싼 메소드 기준으로 본다.
+	규칙마다 위반하는 fixture 로 실제로 잡히는지 확인한다. (ArchPerformanceRulesTest)
+ */
+public class ArchPerformanceRules {
+
+	@ArchTest
+	public static final ArchRule noUnpagedFindAllInControllers = noClasses()
+		.that().areMetaAnnotatedWith(Controller.class)
+		.should().callMethodWhere(unpagedFindAll())
+		.because("요청마다 테이블 전체를 읽으므로 Pageable 을 받는 findAll 이나 페이징 쿼리를 쓴다.");
+
+	@ArchTest
+	public static final ArchRule noRepositoryCallsInControllers = noClasses()
+		.that().areMetaAnnotatedWith(Controller.class)
+		.should().callMethodWhere(repositoryCall())
+		.because("트랜잭션 경계는 서비스가 정한다.");
+
+	@ArchTest
+	public static final ArchRule repositoryCallsInTransactions = classes()
+		.that().areMetaAnnotatedWith(Service.class)
+		.should(callRepositoriesMoreThanOnceOnlyInTransactions());
+
+	@ArchTest
+	public static final ArchRule noEagerAssociationsInDomain = classes()
+		.that().resideInAPackage("..domain..")
+		.should(haveNoEagerAssociations())
+		.because("EAGER 연관관계는 조회할 때마다 join 이나 추가 select 를 만든다. 필요한 곳에서 fetch join 으로 읽는다.");
+
+	@ArchTest
+	public static final ArchRule noBlockingIoInAsyncMethods = classes()
+		.should(notCallBlockingIoFromAsyncMethods())
+		.because("@Async executor, 공용 ForkJoinPool 스레드가 I/O 를 기다리는 동안 다른 작업이 큐에서 밀린다.");
+
+	// 인자에 Pageable 이 없는 Repository.findAll(...) (findAll(), findAll(Sort), findAll(Example) 등)
+	static DescribedPredicate<JavaMethodCall> unpagedFindAll() {
+		return new DescribedPredicate<>("Repository.findAll without Pageable") {
+			@Override
+			public boolean apply(JavaMethodCall call) {
+				return isRepositoryCall(call)
+					&& call.getTarget().getName().equals("findAll")
+					&& !call.getTarget().getFullName().contains("org.springframework.data.domain.Pageable");
+			}
+		};
+	}
+
+	static DescribedPredicate<JavaMethodCall> repositoryCall() {
+		return new DescribedPredicate<>("Spring Data repository method") {
+			@Override
+			public boolean apply(JavaMethodCall call) {
+				return isRepositoryCall(call);
+			}
+		};
+	}
+
+	/*
+		repository 메소드 하나는 그 자체로 트랜잭션이지만, 한 메소드에서 여러번 부르면 호출마다 커넥션을 받고 커밋한다.
+		두번 이상 부르는 메소드는 @Transactional (메소드나 클래스) 이거나 TransactionOperations(TransactionTemplate) 에 넘긴 람다여야 한다.
+	 */
+	static ArchCondition<JavaClass> callRepositoriesMoreThanOnceOnlyInTransactions() {
+		return new ArchCondition<>("call repositories more than once only inside a transaction") {
+			@Override
+			public void check(JavaClass javaClass, ConditionEvents events) {
+				for (JavaCodeUnit codeUnit : javaClass.getCodeUnits()) {
+					List<JavaMethodCall> calls = codeUnit.getMethodCallsFromSelf().stream()
+						.filter(ArchPerformanceRules::isRepositoryCall)
+						.collect(Collectors.toList());
+					if (calls.size() > 1 && !isTransactional(codeUnit)) {
+						events.add(SimpleConditionEvent.violated(codeUnit, String.format(
+							"%s calls repositories %d times outside a transaction: %s", codeUnit.getFullName(),
+							calls.size(), calls.stream().map(JavaMethodCall::getDescription).collect(Collectors.toList()))));
+					}
+				}
+			}
+		};
+	}
+
+	/*
+		@ManyToOne, @OneToOne 은 기본이 EAGER 라서 fetch = LAZY 를 적어야 한다.
+		@OneToMany, @ManyToMany, @ElementCollection 은 fetch = EAGER 만 막는다.
+		프로퍼티 접근(getter 에 매핑) 도 있으므로 필드와 메소드를 모두 본다.
+	 */
+	static ArchCondition<JavaClass> haveNoEagerAssociations() {
+		return new ArchCondition<>("have no eagerly fetched associations") {
+			@Override
+			public void check(JavaClass javaClass, ConditionEvents events) {
+				for (JavaMember member : javaClass.getMembers()) {
+					FetchType fetch = fetchType(member);
+					if (fetch == FetchType.EAGER) {
+						events.add(SimpleConditionEvent.violated(member, String.format(
+							"%s is fetched eagerly", member.getFullName())));
+					}
+				}
+			}
+		};
+	}
+
+	/*
+		비동기로 도는 코드에서 블로킹 I/O 를 부르면 안된다.
+		- @Async 메소드 (클래스에 붙은 경우 포함) 와 그 안의 람다
+		- executor 없이 CompletableFuture.*Async 에 넘긴 람다 (ForkJoinPool.commonPool 에서 돈다)
+		거기서 부르는 같은 클래스의 메소드도 따라 들어가서 본다.
+
+		executor 를 직접 넘긴 작업(StudyAsyncController, NotificationOutboxDispatcher, StudyReader) 은
+		블로킹 조회/전송을 하라고 크기를 잡아둔 전용 풀이라 대상이 아니다.
+	 */
+	static ArchCondition<JavaClass> notCallBlockingIoFromAsyncMethods() {
+		return new ArchCondition<>("not call blocking I/O from @Async methods or common pool tasks") {
+			@Override
+			public void check(JavaClass javaClass, ConditionEvents events) {
+				Set<String> asyncMethods = javaClass.getMethods().stream()
+					.filter(method -> method.isAnnotatedWith(Async.class) || javaClass.isAnnotatedWith(Async.class))
+					.map(JavaCodeUnit::getName)
+					.collect(Collectors.toSet());
+				Set<String> commonPoolSubmitters = javaClass.getCodeUnits().stream()
+					.filter(codeUnit -> codeUnit.getMethodCallsFromSelf().stream().anyMatch(ArchPerformanceRules::isCommonPoolSubmit))
+					.map(ArchPerformanceRules::enclosingName)
+					.collect(Collectors.toSet());
+				for (JavaCodeUnit codeUnit : javaClass.getCodeUnits()) {
+					String enclosing = enclosingName(codeUnit);
+					if (!asyncMethods.contains(enclosing) && !(isLambda(codeUnit) && commonPoolSubmitters.contains(enclosing))) {
+						continue;
+					}
+					blockingCalls(codeUnit, new HashSet<>())
+						.forEach(call -> events.add(SimpleConditionEvent.violated(call, String.format(
+							"%s blocks an async thread (from %s)", call.getDescription(), codeUnit.getFullName()))));
+				}
+			}
+		};
+	}
+
+	// 같은 클래스의 메소드를 부르면 따라 들어가서 본다.
+	private static List<JavaMethodCall> blockingCalls(JavaCodeUnit codeUnit, Set<JavaCodeUnit> visited) {
+		List<JavaMethodCall> blocking = new ArrayList<>();
+		if (!visited.add(codeUnit)) {
+			return blocking;
+		}
+		for (JavaMethodCall call : codeUnit.getMethodCallsFromSelf()) {
+			if (isBlocking(call)) {
+				blocking.add(call);
+			} else if (call.getTargetOwner().equals(codeUnit.getOwner())) {
+				for (JavaMethod method : call.getTarget().resolve()) {
+					blocking.addAll(blockingCalls(method, visited));
+				}
+			}
+		}
+		return blocking;
+	}
+
+	// executor 인자가 없는 CompletableFuture.runAsync, supplyAsync, thenApplyAsync 등
+	private static boolean isCommonPoolSubmit(JavaMethodCall call) {
+		return call.getTargetOwner().isAssignableTo(CompletableFuture.class)
+			&& call.getTarget().getName().endsWith("Async")
+			&& !call.getTarget().getFullName().contains(Executor.class.getName());
+	}
+
+	private static boolean isRepositoryCall(JavaMethodCall call) {
+		return call.getTargetOwner().isAssignableTo(Repository.class);
+	}
+
+	private static boolean isTransactional(JavaCodeUnit codeUnit) {
+		JavaClass owner = codeUnit.getOwner();
+		if (codeUnit.isAnnotatedWith(Transactional.class) || owner.isAnnotatedWith(Transactional.class)) {
+			return true;
+		}
+		if (!isLambda(codeUnit)) {
+			return false;
+		}
+		// 감싼 메소드가 TransactionOperations.execute / executeWithoutResult 를 부르면 거기에 넘긴 람다로 본다.
+		String enclosing = enclosingName(codeUnit);
+		return owner.getCodeUnits().stream()
+			.filter(candidate -> candidate.getName().equals(enclosing))
+			.flatMap(candidate -> candidate.getMethodCallsFromSelf().stream())
+			.anyMatch(call -> call.getTargetOwner().isAssignableTo(TransactionOperations.class)
+				&& call.getTarget().getName().startsWith("execute"));
+	}
+
+	private static FetchType fetchType(JavaMember member) {
+		if (member.isAnnotatedWith(ManyToOne.class)) {
+			return member.getAnnotationOfType(ManyToOne.class).fetch();
+		}
+		if (member.isAnnotatedWith(OneToOne.class)) {
+			return member.getAnnotationOfType(OneToOne.class).fetch();
+		}
+		if (member.isAnnotatedWith(OneToMany.class)) {
+			return member.getAnnotationOfType(OneToMany.class).fetch();
+		}
+		if (member.isAnnotatedWith(ManyToMany.class)) {
+			return member.getAnnotationOfType(ManyToMany.class).fetch();
+		}
+		if (member.isAnnotatedWith(ElementCollection.class)) {
+			return member.getAnnotationOfType(ElementCollection.class).fetch();
+		}
+		return null;
+	}
+
+	/*
+		블로킹 I/O 로 보는 호출
+		java.io, java.nio.file.Files, java.net (HttpClient.sendAsync 제외), JDBC, Spring Data repository, RestTemplate,
+		Thread.sleep, Future.get / CompletableFuture.join
+	 */
+	private static boolean isBlocking(JavaMethodCall call) {
+		JavaClass owner = call.getTargetOwner();
+		String name = call.getTarget().getName();
+		String packageName = owner.getPackageName();
+		return packageName.equals("java.io")
+			|| owner.getName().equals("java.nio.file.Files")
+			|| (packageName.startsWith("java.net") && !name.equals("sendAsync"))
+			|| packageName.equals("java.sql")
+			|| owner.isAssignableTo(Repository.class)
+			|| owner.isAssignableTo(RestOperations.class)
+			|| (owner.getName().equals(Thread.class.getName()) && name.equals("sleep"))
+			|| (owner.isAssignableTo(Future.class) && (name.equals("get") || name.equals("join")));
+	}
+
+	private static boolean isLambda(JavaCodeUnit codeUnit) {
+		return codeUnit.getName().startsWith("lambda$");
+	}
+
+	// lambda$openStudy$1 -> openStudy
+	private static String enclosingName(JavaCodeUnit codeUnit) {
+		if (!isLambda(codeUnit)) {
+			return codeUnit.getName();
+		}
+		String[] parts = codeUnit.getName().split("\\$");
+		return parts.length > 1 ? parts[1] : codeUnit.getName();
+	}
+}
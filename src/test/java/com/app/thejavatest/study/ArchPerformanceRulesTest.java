@@ -0,0 +1,72 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import com.app.archfixture.AsyncMethodFixture;
+import com.app.archfixture.CommonPoolFixture;
+import com.app.archfixture.ExecutorFixture;
+import com.app.archfixture.NonTransactionalService;
+import com.app.archfixture.RepositoryCallingController;
+import com.app.archfixture.UnpagedFindAllController;
+import com.app.archfixture.domain.EagerAssociation;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.lang.ArchRule;
+
+/*
+	ArchPerformanceRules 가 위반을 실제로 잡는지 fixture 로 확인한다.
+
+	fixture 는 애플리케이션 패키지 밖(com.app.archfixture) 에 둬서
+	컴포넌트 스캔, Spring Data repository 스캔, ArchTests 에 잡히지 않는다.
+ */
+class ArchPerformanceRulesTest {
+
+	static final JavaClasses FIXTURES = new ClassFileImporter().importPackages("com.app.archfixture");
+
+	@Test
+	void unpaged_find_all_in_controller() {
+		assertViolated(ArchPerformanceRules.noUnpagedFindAllInControllers, UnpagedFindAllController.class.getName());
+	}
+
+	@Test
+	void repository_call_in_controller() {
+		assertViolated(ArchPerformanceRules.noRepositoryCallsInControllers, RepositoryCallingController.class.getName());
+	}
+
+	@Test
+	void repository_calls_outside_transaction() {
+		assertViolated(ArchPerformanceRules.repositoryCallsInTransactions, NonTransactionalService.class.getName());
+	}
+
+	@Test
+	void eager_association_in_domain() {
+		assertViolated(ArchPerformanceRules.noEagerAssociationsInDomain, EagerAssociation.class.getName());
+	}
+
+	@Test
+	void blocking_io_in_async_method() {
+		assertViolated(ArchPerformanceRules.noBlockingIoInAsyncMethods, AsyncMethodFixture.class.getName() + ".sleep()");
+	}
+
+	// 람다에서 직접 부르는 경우와 람다가 부르는 같은 클래스 메소드에서 부르는 경우 모두 잡는다.
+	@Test
+	void blocking_io_in_common_pool_task() {
+		assertViolated(ArchPerformanceRules.noBlockingIoInAsyncMethods, CommonPoolFixture.class.getName() + ".lambda$findById$");
+		assertViolated(ArchPerformanceRules.noBlockingIoInAsyncMethods, CommonPoolFixture.class.getName() + ".load()");
+	}
+
+	@Test
+	void blocking_io_on_given_executor_allowed() {
+		assertThatThrownBy(() -> ArchPerformanceRules.noBlockingIoInAsyncMethods.check(FIXTURES))
+			.isInstanceOf(AssertionError.class)
+			.hasMessageNotContaining(ExecutorFixture.class.getName());
+	}
+
+	private static void assertViolated(ArchRule rule, String violation) {
+		assertThatThrownBy(() -> rule.check(FIXTURES))
+			.isInstanceOf(AssertionError.class)
+			.hasMessageContaining(violation);
+	}
+}
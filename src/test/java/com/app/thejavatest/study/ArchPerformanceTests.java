@@ -0,0 +1,15 @@
+package com.app.thejavatest.study;
+
+import com.app.thejavatest.TheJavaTestApplication;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.junit.AnalyzeClasses;
+import com.tngtech.archunit.junit.ArchRules;
+import com.tngtech.archunit.junit.ArchTest;
+
+// 운영 코드에만 성능 규칙을 적용한다. (테스트는 일부러 findAll, Thread.sleep 등을 쓴다)
+@AnalyzeClasses(packagesOf = TheJavaTestApplication.class, importOptions = ImportOption.DoNotIncludeTests.class)
+public class ArchPerformanceTests {
+
+	@ArchTest
+	ArchRules performanceRules = ArchRules.in(ArchPerformanceRules.class);
+}
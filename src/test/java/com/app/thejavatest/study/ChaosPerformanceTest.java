@@ -0,0 +1,253 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.thejavatest.TheJavaTestApplication;
+import com.app.thejavatest.domain.Study;
+
+/*
+	카오스 멍키 공격 중 엔드포인트별 p99 / 처리량 예산을 확인한다. (./gradlew chaosTest)
+
+	StudyController 주석의 수동 절차(httpie 로 assaults 설정 + JMeter 로 확인)를 그대로 자동화한 것.
+	H2 로 chaos-monkey 프로파일 앱을 띄우고 /actuator/chaosmonkey 로 공격을 켠 뒤
+	CONCURRENCY 개의 유저가 DURATION 동안 요청을 보내고 예산을 넘으면 실패한다.
+
+	GET /study/{id} 는 응답 캐시를 꺼서 매번 StudyReader 를 타게 한다.
+	공격 중에는 timeout / bulkhead 뒤에서 마지막으로 읽은 값으로 응답해야 하므로 성공률과 p99 가 유지돼야 한다.
+	POST /study 는 보호 장치가 없으므로 지연 공격 중 p99 는 지연 범위만큼 늘어나고, 예외 공격 중에는 빠르게 500 을 돌려줘야 한다.
+ */
+@Tag("chaos")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ChaosPerformanceTest {
+
+	private static final int SEED_STUDIES = 200;
+
+	private static final int CONCURRENCY = 16;
+
+	private static final Duration DURATION = Duration.ofSeconds(10);
+
+	private static final int LATENCY_START_MS = 2000;
+
+	private static final int LATENCY_END_MS = 5000;
+
+	// study.resilience.timeout
+	private static final int READ_TIMEOUT_MS = 1000;
+
+	ConfigurableApplicationContext context;
+
+	HttpClient client;
+
+	String baseUrl;
+
+	List<Long> studyIds;
+
+	@BeforeAll
+	void beforeAll() throws Exception {
+		context = new SpringApplicationBuilder(TheJavaTestApplication.class)
+			.profiles("chaos-monkey")
+			.run(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:chaos;DB_CLOSE_DELAY=-1",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.hibernate.ddl-auto=create-drop",
+				"--spring.jpa.show-sql=false",
+				"--study.cache.response.max-size=0B",
+				"--study.resilience.timeout=" + READ_TIMEOUT_MS + "ms",
+				"--chaos.monkey.enabled=false",
+				"--chaos.monkey.watcher.repository=true");
+		baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+		client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+		studyIds = seed();
+		// 공격 전에 한번씩 읽어서 StudyReader 에 마지막 값을 남긴다.
+		for (Long id : studyIds) {
+			assertThat(client.send(getStudy(id), HttpResponse.BodyHandlers.discarding()).statusCode()).isEqualTo(200);
+		}
+	}
+
+	@AfterAll
+	void afterAll() {
+		context.close();
+	}
+
+	@AfterEach
+	void afterEach() throws Exception {
+		post("/actuator/chaosmonkey/disable", "");
+	}
+
+	@Test
+	@DisplayName("공격이 없을 때")
+	void no_assault() throws Exception {
+		assertBudget(run("GET /study/{id}", 200, this::randomGetStudy), 200, 100);
+		assertBudget(run("POST /study", 200, this::createStudy), 500, 50);
+	}
+
+	@Test
+	@DisplayName("repository 지연 공격 (2~5초)")
+	void latency_assault() throws Exception {
+		assault("{\"level\":1,\"latencyActive\":true,\"exceptionsActive\":false,"
+			+ "\"latencyRangeStart\":" + LATENCY_START_MS + ",\"latencyRangeEnd\":" + LATENCY_END_MS + "}");
+
+		assertBudget(run("GET /study/{id}", 200, this::randomGetStudy), READ_TIMEOUT_MS + 500, 10);
+		assertBudget(run("POST /study", 200, this::createStudy), LATENCY_END_MS + 1000, 2);
+	}
+
+	@Test
+	@DisplayName("repository 예외 공격")
+	void exception_assault() throws Exception {
+		assault("{\"level\":1,\"latencyActive\":false,\"exceptionsActive\":true,"
+			+ "\"exception\":{\"type\":\"java.lang.RuntimeException\"}}");
+
+		assertBudget(run("GET /study/{id}", 200, this::randomGetStudy), 200, 100);
+		assertBudget(run("POST /study", 500, this::createStudy), 200, 100);
+	}
+
+	private void assault(String assaults) throws Exception {
+		assertThat(post("/actuator/chaosmonkey/assaults", assaults).statusCode()).isEqualTo(200);
+		assertThat(post("/actuator/chaosmonkey/enable", "").statusCode()).isEqualTo(200);
+	}
+
+	// 예상한 상태 코드 비율이 99% 이상이고, p99 와 처리량이 예산 안이어야 한다.
+	private void assertBudget(Result result, long p99BudgetMs, double minThroughput) {
+		System.out.println(result);
+		assertThat(result.successRatio()).as("%s success ratio", result.name).isGreaterThanOrEqualTo(0.99);
+		assertThat(result.p99Millis()).as("%s p99", result.name).isLessThanOrEqualTo(p99BudgetMs);
+		assertThat(result.throughput()).as("%s throughput", result.name).isGreaterThanOrEqualTo(minThroughput);
+	}
+
+	private Result run(String name, int expectedStatus, Supplier<HttpRequest> requests) throws Exception {
+		ExecutorService users = Executors.newFixedThreadPool(CONCURRENCY);
+		long endAt = System.nanoTime() + DURATION.toNanos();
+		List<Future<List<long[]>>> samples = new ArrayList<>();
+		for (int user = 0; user < CONCURRENCY; user++) {
+			samples.add(users.submit(() -> {
+				List<long[]> latencies = new ArrayList<>();
+				while (System.nanoTime() < endAt) {
+					long start = System.nanoTime();
+					int status;
+					try {
+						status = client.send(requests.get(), HttpResponse.BodyHandlers.discarding()).statusCode();
+					} catch (IOException e) {
+						status = -1;
+					}
+					latencies.add(new long[] {System.nanoTime() - start, status == expectedStatus ? 1 : 0});
+				}
+				return latencies;
+			}));
+		}
+
+		List<Long> latencies = new ArrayList<>();
+		long successes = 0;
+		for (Future<List<long[]>> sample : samples) {
+			for (long[] latency : sample.get()) {
+				latencies.add(latency[0]);
+				successes += latency[1];
+			}
+		}
+		users.shutdown();
+		Collections.sort(latencies);
+		return new Result(name, latencies, successes);
+	}
+
+	private HttpRequest randomGetStudy() {
+		return getStudy(studyIds.get(ThreadLocalRandom.current().nextInt(studyIds.size())));
+	}
+
+	private HttpRequest getStudy(Long id) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + "/study/" + id)).timeout(Duration.ofSeconds(30)).GET().build();
+	}
+
+	private HttpRequest createStudy() {
+		return postRequest("/study", "{\"limitCount\":10,\"name\":\"chaos\"}");
+	}
+
+	private List<Long> seed() {
+		List<Study> studies = new ArrayList<>(SEED_STUDIES);
+		for (int i = 0; i < SEED_STUDIES; i++) {
+			studies.add(new Study(10, "chaos-" + i));
+		}
+		return context.getBean(StudyRepository.class).saveAll(studies).stream()
+			.map(Study::getId)
+			.collect(Collectors.toList());
+	}
+
+	private HttpResponse<String> post(String path, String json) throws Exception {
+		return client.send(postRequest(path, json), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpRequest postRequest(String path, String json) {
+		return HttpRequest.newBuilder(URI.create(baseUrl + path))
+			.timeout(Duration.ofSeconds(30))
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString(json))
+			.build();
+	}
+
+	private static class Result {
+
+		private final String name;
+
+		private final List<Long> sortedLatencies;
+
+		private final long successes;
+
+		Result(String name, List<Long> sortedLatencies, long successes) {
+			this.name = name;
+			this.sortedLatencies = sortedLatencies;
+			this.successes = successes;
+		}
+
+		double successRatio() {
+			return sortedLatencies.isEmpty() ? 0 : (double)successes / sortedLatencies.size();
+		}
+
+		long p99Millis() {
+			if (sortedLatencies.isEmpty()) {
+				return Long.MAX_VALUE;
+			}
+			int index = (int)Math.ceil(sortedLatencies.size() * 0.99) - 1;
+			return Duration.ofNanos(sortedLatencies.get(index)).toMillis();
+		}
+
+		double throughput() {
+			return sortedLatencies.size() / (double)DURATION.toSeconds();
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT, "[%s] requests=%d success=%.3f p99=%dms throughput=%.1f req/s",
+				name, sortedLatencies.size(), successRatio(), p99Millis(), throughput());
+		}
+	}
+}
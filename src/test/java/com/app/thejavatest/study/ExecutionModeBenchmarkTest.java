@@ -0,0 +1,114 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.app.thejavatest.TheJavaTestApplication;
+import com.app.thejavatest.domain.Study;
+
+/*
+	실행 방식별로 느린 요청을 동시에 몇개까지 처리하는지 비교한다. (./gradlew benchmarkTest)
+
+	H2 로 앱을 띄우고 카오스 멍키 지연 공격으로 repository 호출마다 LATENCY_MS 만큼 지연시킨 뒤,
+	CONCURRENCY 개의 요청을 한번에 보내서 TIMEOUT 안에 성공한 요청 수와 처리량을 출력한다.
+	platform 은 톰캣 스레드 수(200), async 는 executor 크기 + 큐 크기가 상한이고, virtual 은 Java 21 이상에서만 돈다.
+ */
+@Tag("benchmark")
+class ExecutionModeBenchmarkTest {
+
+	private static final int CONCURRENCY = 1000;
+
+	private static final int LATENCY_MS = 1000;
+
+	private static final Duration TIMEOUT = Duration.ofSeconds(4);
+
+	@ParameterizedTest(name = "{0}")
+	@CsvSource({"platform, /study/", "virtual, /study/", "async, /async/study/"})
+	void concurrent_slow_requests(String mode, String path) throws Exception {
+		if ("virtual".equals(mode)) {
+			assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21+");
+		}
+
+		try (ConfigurableApplicationContext context = start(mode)) {
+			// 응답 캐시에 걸리지 않도록 요청마다 다른 스터디를 조회한다.
+			List<Study> studies = new ArrayList<>(CONCURRENCY);
+			for (int i = 0; i < CONCURRENCY; i++) {
+				studies.add(new Study(10, "benchmark-" + i));
+			}
+			List<Study> saved = context.getBean(StudyRepository.class).saveAll(studies);
+			String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + path;
+
+			ExecutorService clientExecutor = Executors.newFixedThreadPool(32);
+			HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(clientExecutor)
+				.build();
+			AtomicInteger ok = new AtomicInteger();
+			AtomicInteger failed = new AtomicInteger();
+
+			long start = System.nanoTime();
+			List<CompletableFuture<?>> responses = new ArrayList<>(CONCURRENCY);
+			for (int i = 0; i < CONCURRENCY; i++) {
+				URI uri = URI.create(baseUrl + saved.get(i).getId());
+				HttpRequest request = HttpRequest.newBuilder(uri).timeout(TIMEOUT).GET().build();
+				responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+					.whenComplete((response, error) -> {
+						if (error == null && response.statusCode() == 200) {
+							ok.incrementAndGet();
+						} else {
+							failed.incrementAndGet();
+						}
+					}));
+			}
+			CompletableFuture.allOf(responses.toArray(new CompletableFuture[0]))
+				.exceptionally(error -> null)
+				.join();
+			double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+			clientExecutor.shutdownNow();
+
+			System.out.printf("[%s] concurrency=%d latency=%dms ok=%d failed=%d elapsed=%.2fs throughput=%.1f req/s%n",
+				mode, CONCURRENCY, LATENCY_MS, ok.get(), failed.get(), seconds, ok.get() / seconds);
+			assertThat(ok.get()).isPositive();
+		}
+	}
+
+	// application.yml 보다 우선하도록 커맨드라인 인자로 넘긴다.
+	private ConfigurableApplicationContext start(String mode) {
+		return new SpringApplicationBuilder(TheJavaTestApplication.class)
+			.profiles("chaos-monkey")
+			.run(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";DB_CLOSE_DELAY=-1",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.hibernate.ddl-auto=create-drop",
+				"--study.execution.mode=" + mode,
+				// 느린 조회를 그대로 기다리는 비교라서 timeout/bulkhead 는 끈다.
+				"--study.resilience.enabled=false",
+				"--chaos.monkey.enabled=true",
+				"--chaos.monkey.watcher.repository=true",
+				"--chaos.monkey.assaults.level=1",
+				"--chaos.monkey.assaults.latency-active=true",
+				"--chaos.monkey.assaults.latency-range-start=" + LATENCY_MS,
+				"--chaos.monkey.assaults.latency-range-end=" + LATENCY_MS);
+	}
+}
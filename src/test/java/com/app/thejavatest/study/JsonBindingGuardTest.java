@@ -0,0 +1,105 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Iterator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.context.annotation.Import;
+
+import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.domain.TestDto;
+import com.app.thejavatest.web.JsonBindingConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.deser.ValueInstantiator;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.deser.std.StdValueInstantiator;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/*
+	DTO 바인딩이 리플렉션으로 돌아가면 실패한다.
+
+	- 프로퍼티를 Method.invoke / Field.set 으로 쓰는 MethodProperty, FieldProperty 가 남아 있으면 안된다.
+	- 객체 생성도 Blackbird 가 만든 instantiator 여야 한다. 기본 StdValueInstantiator 는 생성자/팩토리를 리플렉션으로 호출한다.
+	- 직렬화 프로퍼티도 기본 BeanPropertyWriter(리플렉션) 가 아니라 Blackbird 가 만든 writer 여야 한다.
+
+	TestDto 는 private @JsonCreator 생성자로만 만들 수 있어서 Blackbird 대신 TestDtoJsonModule 이 instantiator 를 바꿔 끼운다.
+ */
+@JsonTest
+@Import(JsonBindingConfig.class)
+class JsonBindingGuardTest {
+
+	@Autowired ObjectMapper objectMapper;
+
+	@Test
+	void blackbird_registered() {
+		assertThat(objectMapper.getRegisteredModuleIds()).contains(new BlackbirdModule().getTypeId());
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@ValueSource(classes = {Study.class, TestDto.class})
+	void deserialization_without_reflection(Class<?> type) throws Exception {
+		BeanDeserializerBase deserializer = beanDeserializer(type);
+
+		assertThat(reflectiveCreator(deserializer.getValueInstantiator()))
+			.as("%s instantiator %s", type.getSimpleName(), deserializer.getValueInstantiator().getClass().getName())
+			.isFalse();
+		assertThat(deserializer.properties()).toIterable().isNotEmpty()
+			.allSatisfy(property -> assertThat(property)
+				.as("%s.%s", type.getSimpleName(), property.getName())
+				.isNotInstanceOfAny(MethodProperty.class, FieldProperty.class));
+	}
+
+	@Test
+	void testDto_created_by_constructor_call() throws Exception {
+		assertThat(beanDeserializer(TestDto.class).getValueInstantiator()).isInstanceOf(TestDto.Instantiator.class);
+
+		TestDto dto = objectMapper.readValue("{\"age\":20,\"name\":\"keesun\"}", TestDto.class);
+
+		assertThat(dto.getName()).isEqualTo("keesun");
+		assertThat(dto.getAge()).isEqualTo(20);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@ValueSource(classes = {Study.class, TestDto.class})
+	void serialization_without_reflection(Class<?> type) throws Exception {
+		JsonSerializer<Object> serializer = objectMapper.getSerializerProviderInstance().findValueSerializer(type);
+
+		assertThat(serializer).isInstanceOf(BeanSerializerBase.class);
+		Iterator<PropertyWriter> properties = ((BeanSerializerBase)serializer).properties();
+		assertThat(properties).toIterable().isNotEmpty()
+			.allSatisfy(property -> assertThat(property.getClass())
+				.as("%s.%s", type.getSimpleName(), property.getName())
+				.isNotEqualTo(BeanPropertyWriter.class));
+	}
+
+	private BeanDeserializerBase beanDeserializer(Class<?> type) throws Exception {
+		DefaultDeserializationContext context = ((DefaultDeserializationContext)objectMapper.getDeserializationContext())
+			.createInstance(objectMapper.getDeserializationConfig(), null, null);
+		JsonDeserializer<Object> deserializer = context.findRootValueDeserializer(objectMapper.constructType(type));
+
+		assertThat(deserializer).isInstanceOf(BeanDeserializerBase.class);
+		return (BeanDeserializerBase)deserializer;
+	}
+
+	// Blackbird 가 바꾼 instantiator 는 StdValueInstantiator 의 하위 클래스다. 그대로 StdValueInstantiator 인데 생성자/팩토리를 쓰면 리플렉션이다.
+	private static boolean reflectiveCreator(ValueInstantiator instantiator) {
+		return instantiator.getClass() == StdValueInstantiator.class
+			&& (instantiator.canCreateUsingDefault()
+			|| instantiator.canCreateFromObjectWith()
+			|| instantiator.canCreateUsingDelegate()
+			|| instantiator.canCreateUsingArrayDelegate());
+	}
+}
@@ -0,0 +1,125 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.thejavatest.domain.Member;
+import com.app.thejavatest.domain.NotificationOutbox;
+import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.member.MemberService;
+
+@StudyJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationOutboxDispatcherTest {
+
+	@Autowired MemberService memberService;
+
+	@Autowired NotificationOutboxDispatcher dispatcher;
+
+	@Autowired NotificationOutboxRepository outboxRepository;
+
+	@Autowired StudyRepository studyRepository;
+
+	// 애플리케이션과 같이 outbox 를 주입받은 빈
+	@Autowired StudyService studyService;
+
+	@BeforeEach
+	void beforeEach() {
+		outboxRepository.deleteAll();
+		studyRepository.deleteAll();
+
+		Member member = new Member();
+		member.setId(1L);
+		given(memberService.findById(1L)).willReturn(Optional.of(member));
+	}
+
+	@Test
+	@DisplayName("스터디를 만들면 알림은 outbox 에 쌓이고 dispatcher 가 보낸다.")
+	void createNewStudy_then_dispatch() {
+		Study study = studyService.createNewStudy(1L, new Study(10, "java"));
+
+		then(memberService).should(never()).notify(any(Study.class));
+		assertThat(outboxRepository.findAll())
+			.extracting(NotificationOutbox::getStudyId, NotificationOutbox::getStatus)
+			.containsExactly(tuple(study.getId(), NotificationOutbox.Status.PENDING));
+
+		assertThat(dispatcher.dispatch()).isEqualTo(1);
+
+		then(memberService).should(times(1)).notify(argThat((Study notified) -> notified.getId().equals(study.getId())));
+		assertThat(outboxRepository.findAll())
+			.extracting(NotificationOutbox::getStatus)
+			.containsExactly(NotificationOutbox.Status.SENT);
+	}
+
+	@Test
+	@DisplayName("보내기에 실패하면 같은 스터디의 뒤 알림까지 미루고 나중에 다시 보낸다.")
+	void dispatch_failure_keeps_order() {
+		Study study = studyService.createNewStudy(1L, new Study(10, "java"));
+		studyService.openStudy(study);
+		willThrow(new IllegalStateException("mail server down")).given(memberService).notify(any(Study.class));
+
+		dispatcher.dispatch();
+
+		List<NotificationOutbox> events = outboxRepository.findAll();
+		assertThat(events).extracting(NotificationOutbox::getStatus)
+			.containsOnly(NotificationOutbox.Status.PENDING);
+		assertThat(events).extracting(NotificationOutbox::getAttempts).containsExactlyInAnyOrder(1, 0);
+		then(memberService).should(times(1)).notify(any(Study.class));
+
+		// backoff 가 지나기 전에는 다시 가져가지 않는다.
+		assertThat(dispatcher.dispatch()).isZero();
+	}
+
+	@Test
+	@DisplayName("같은 스터디의 알림은 앞 알림을 보낸 뒤에 가져간다.")
+	void dispatch_one_event_per_study_in_order() {
+		Study study = studyService.createNewStudy(1L, new Study(10, "java"));
+		studyService.openStudy(study);
+
+		assertThat(dispatcher.dispatch()).isEqualTo(1);
+		assertThat(outboxRepository.findAll(Sort.by("id")))
+			.extracting(NotificationOutbox::getType, NotificationOutbox::getStatus)
+			.containsExactly(
+				tuple(NotificationOutbox.Type.STUDY_CREATED, NotificationOutbox.Status.SENT),
+				tuple(NotificationOutbox.Type.STUDY_OPENED, NotificationOutbox.Status.PENDING));
+
+		assertThat(dispatcher.dispatch()).isEqualTo(1);
+		assertThat(outboxRepository.findAll())
+			.extracting(NotificationOutbox::getStatus)
+			.containsOnly(NotificationOutbox.Status.SENT);
+		then(memberService).should(times(2)).notify(any(Study.class));
+	}
+
+	@Test
+	@DisplayName("앞 알림이 backoff 중이면 나중에 쌓인 같은 스터디의 알림도 보내지 않는다.")
+	void later_event_waits_for_backed_off_event() {
+		Study study = studyService.createNewStudy(1L, new Study(10, "java"));
+		willThrow(new IllegalStateException("mail server down")).given(memberService).notify(any(Study.class));
+		dispatcher.dispatch();
+
+		// 실패한 알림 뒤에 쌓인 알림은 nextAttemptAt 이 지났어도 가져가지 않는다.
+		willDoNothing().given(memberService).notify(any(Study.class));
+		studyService.openStudy(study);
+		Study other = studyService.createNewStudy(1L, new Study(10, "spring"));
+
+		assertThat(dispatcher.dispatch()).isEqualTo(1);
+		then(memberService).should(times(1)).notify(argThat((Study notified) -> notified.getId().equals(other.getId())));
+		assertThat(outboxRepository.findAll(Sort.by("id")))
+			.extracting(NotificationOutbox::getStudyId, NotificationOutbox::getStatus)
+			.containsExactly(
+				tuple(study.getId(), NotificationOutbox.Status.PENDING),
+				tuple(study.getId(), NotificationOutbox.Status.PENDING),
+				tuple(other.getId(), NotificationOutbox.Status.SENT));
+	}
+}
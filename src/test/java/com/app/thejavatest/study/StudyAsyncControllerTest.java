@@ -0,0 +1,83 @@
+package com.app.thejavatest.study;
+
+import static com.app.thejavatest.datasource.SqlStatementBudget.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.app.thejavatest.datasource.SqlStatementFilter;
+import com.app.thejavatest.domain.Study;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/*
+	study.execution.mode=async 에서 /async/** 요청의 SQL 통계
+
+	executor 스레드에서 실행한 SQL 도 요청으로 세고, 결과를 쓰는 async dispatch 에서 헤더와 메트릭을 남기는지 본다.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:async;DB_CLOSE_DELAY=-1",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"study.execution.mode=async",
+	"chaos.monkey.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudyAsyncControllerTest {
+
+	@Autowired MockMvc mockMvc;
+
+	@Autowired StudyRepository repository;
+
+	@Autowired MeterRegistry meterRegistry;
+
+	@Test
+	@DisplayName("GET /async/study/{id} 는 executor 스레드의 select 를 세어 헤더와 메트릭에 남긴다.")
+	void get_study_counts_executor_statements() throws Exception {
+		Study study = repository.save(new Study(10, "async"));
+
+		MvcResult result = mockMvc.perform(get("/async/study/{id}", study.getId()))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(header().string(SqlStatementFilter.STATEMENTS_HEADER, "1"))
+			.andExpect(header().string(SqlStatementFilter.ROWS_HEADER, "1"));
+
+		DistributionSummary statements = meterRegistry.get("http.server.sql.statements")
+			.tag("method", "GET")
+			.tag("uri", "/async/study/{id}")
+			.summary();
+		assertThat(statements.count()).isEqualTo(1);
+		assertThat(statements.totalAmount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("POST /async/study 는 executor 스레드의 insert 를 센다.")
+	void create_study_counts_executor_statements() throws Exception {
+		MvcResult result = mockMvc.perform(post("/async/study")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"limitCount\":10,\"name\":\"async\"}"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		mockMvc.perform(asyncDispatch(result))
+			.andExpect(status().isOk())
+			.andExpect(header().string(SqlStatementFilter.STATEMENTS_HEADER, not("0")))
+			.andExpect(atMost(3));
+	}
+}
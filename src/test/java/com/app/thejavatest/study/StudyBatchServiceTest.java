@@ -0,0 +1,68 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.thejavatest.domain.Study;
+
+// chunk 별 트랜잭션을 직접 관리하므로 테스트 트랜잭션은 끈다.
+@StudyJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudyBatchServiceTest {
+
+	@Autowired StudyBatchService batchService;
+
+	@Autowired StudyRepository repository;
+
+	@BeforeEach
+	void beforeEach() {
+		repository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("검증에 실패한 항목만 빼고 저장한다.")
+	void createAll_validation_failure() {
+		Study negative = new Study(10, "negative");
+		negative.setLimitCount(-1);
+
+		StudyBatchResult result = batchService.createAll(List.of(
+			new Study(10, "java"), negative, new Study(20, "spring")));
+
+		assertThat(result.getCreated()).extracting(StudyBatchResult.Created::getIndex).containsExactly(0, 2);
+		assertThat(result.getCreated()).allSatisfy(created -> assertThat(created.getId()).isNotNull());
+		assertThat(result.getFailed()).extracting(StudyBatchResult.Failed::getIndex).containsExactly(1);
+		assertThat(repository.count()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("DB 에서 실패한 항목이 있어도 같은 chunk 의 나머지는 저장된다.")
+	void createAll_database_failure() {
+		Study tooLong = new Study(10, "x".repeat(300));
+
+		StudyBatchResult result = batchService.createAll(List.of(
+			new Study(10, "java"), tooLong, new Study(20, "spring")));
+
+		assertThat(result.getCreated()).extracting(StudyBatchResult.Created::getIndex).containsExactly(0, 2);
+		assertThat(result.getFailed()).extracting(StudyBatchResult.Failed::getIndex).containsExactly(1);
+		assertThat(repository.count()).isEqualTo(2);
+	}
+
+	@Test
+	void createAll_too_many() {
+		List<Study> studies = new ArrayList<>();
+		for (int i = 0; i <= 10000; i++) {
+			studies.add(new Study(10, "study-" + i));
+		}
+
+		assertThatIllegalArgumentException().isThrownBy(() -> batchService.createAll(studies));
+	}
+}
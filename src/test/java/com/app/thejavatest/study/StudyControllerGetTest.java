@@ -0,0 +1,200 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import com.app.thejavatest.domain.Study;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/*
+	GET /study/{id} 컨트롤러 테스트
+
+	응답 캐시는 실제 객체, DB 조회는 StudyReader mock 으로 보고 어떤 조회를 탔는지 확인한다.
+	조회 timeout 은 repository 만 mock 으로 둔 실제 StudyReader 로 확인한다.
+ */
+@ExtendWith(MockitoExtension.class)
+class StudyControllerGetTest {
+
+	@Mock StudyReader reader;
+
+	@Mock StudyRepository repository;
+
+	StudyResponseCache responseCache;
+
+	MockMvc mockMvc;
+
+	StudyReader timingOutReader;
+
+	@BeforeEach
+	void beforeEach() {
+		responseCache = new StudyResponseCache(Jackson2ObjectMapperBuilder.json(), new SimpleMeterRegistry(),
+			DataSize.ofMegabytes(1), Duration.ofMinutes(1), Duration.ofSeconds(5));
+		mockMvc = mockMvc(reader);
+	}
+
+	@AfterEach
+	void afterEach() {
+		if (timingOutReader != null) {
+			timingOutReader.shutdown();
+		}
+	}
+
+	@Test
+	@DisplayName("캐시된 응답의 ETag 와 맞으면 DB 를 읽지 않고 본문 없이 304")
+	void if_none_match_cached() throws Exception {
+		given(reader.findById(1L)).willReturn(Optional.of(study(1L, 3L)));
+		mockMvc.perform(get("/study/{id}", 1L))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""));
+
+		mockMvc.perform(get("/study/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+			.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+			.andExpect(content().bytes(new byte[0]));
+
+		then(reader).should(times(1)).findById(1L);
+		then(reader).should(never()).findVersionById(any());
+	}
+
+	@Test
+	@DisplayName("캐시에 없으면 version 만 읽어서 비교한다.")
+	void if_none_match_cache_miss() throws Exception {
+		given(reader.findVersionById(1L)).willReturn(Optional.of(3L));
+
+		mockMvc.perform(get("/study/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+			.andExpect(content().bytes(new byte[0]));
+
+		then(reader).should(times(1)).findVersionById(1L);
+		then(reader).should(never()).findById(any());
+	}
+
+	@Test
+	@DisplayName("ETag 가 다르면 새 ETag 와 본문으로 200")
+	void if_none_match_mismatch() throws Exception {
+		given(reader.findVersionById(1L)).willReturn(Optional.of(4L));
+		given(reader.findById(1L)).willReturn(Optional.of(study(1L, 4L)));
+
+		mockMvc.perform(get("/study/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+			.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.name").value("java"))
+			.andExpect(jsonPath("$.version").value(4));
+	}
+
+	@Test
+	@DisplayName("* 는 스터디가 있으면 304")
+	void if_none_match_any() throws Exception {
+		given(reader.findVersionById(1L)).willReturn(Optional.of(3L));
+
+		mockMvc.perform(get("/study/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "*"))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""));
+
+		then(reader).should(never()).findById(any());
+	}
+
+	@Test
+	@DisplayName("weak 태그나 목록 중 하나가 맞아도 304")
+	void if_none_match_weak_list() throws Exception {
+		given(reader.findVersionById(1L)).willReturn(Optional.of(3L));
+
+		mockMvc.perform(get("/study/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"1-2\", W/\"1-3\""))
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""));
+	}
+
+	@Test
+	@DisplayName("포맷이 다르면 ETag 도 달라서 JSON ETag 로는 CBOR 응답이 304 가 되지 않는다.")
+	void if_none_match_other_format() throws Exception {
+		given(reader.findVersionById(1L)).willReturn(Optional.of(3L));
+		given(reader.findById(1L)).willReturn(Optional.of(study(1L, 3L)));
+
+		mockMvc.perform(get("/study/{id}", 1L)
+				.accept(MediaType.APPLICATION_CBOR)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1-3-cbor\""))
+			.andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+	}
+
+	@Test
+	@DisplayName("조회가 제한 시간을 넘으면 마지막으로 읽은 값을 캐시하지 않고 내려준다.")
+	void read_timeout_serves_last_known() throws Exception {
+		mockMvc = mockMvc(timingOutReader());
+		Study study = study(1L, 3L);
+		given(repository.findById(1L))
+			.willReturn(Optional.of(study))
+			.willAnswer(invocation -> {
+				Thread.sleep(2000);
+				return Optional.of(study);
+			});
+		mockMvc.perform(get("/study/{id}", 1L))
+			.andExpect(status().isOk());
+		responseCache.evict(1L);
+
+		mockMvc.perform(get("/study/{id}", 1L))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+			.andExpect(jsonPath("$.name").value("java"));
+
+		assertThat(responseCache.getIfPresent(1L, StudyFormat.JSON)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("조회가 제한 시간을 넘고 마지막으로 읽은 값도 없으면 503")
+	void read_timeout_nothing_known() throws Exception {
+		mockMvc = mockMvc(timingOutReader());
+		given(repository.findById(1L)).willAnswer(invocation -> {
+			Thread.sleep(2000);
+			return Optional.of(study(1L, 3L));
+		});
+
+		mockMvc.perform(get("/study/{id}", 1L))
+			.andExpect(status().isServiceUnavailable());
+
+		assertThat(responseCache.getIfPresent(1L, StudyFormat.JSON)).isEmpty();
+	}
+
+	private MockMvc mockMvc(StudyReader reader) {
+		return MockMvcBuilders.standaloneSetup(
+			new StudyController(null, reader, responseCache, null, null, null, null)).build();
+	}
+
+	// timeout 100ms, hedge 없음
+	private StudyReader timingOutReader() {
+		timingOutReader = new StudyReader(repository, new SimpleMeterRegistry(), true, Duration.ofMillis(100), 10,
+			false, Duration.ofMillis(20), 100);
+		return timingOutReader;
+	}
+
+	private Study study(Long id, long version) {
+		Study study = new Study(10, "java");
+		study.setId(id);
+		study.setVersion(version);
+		return study;
+	}
+}
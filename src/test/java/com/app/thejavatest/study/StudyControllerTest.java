@@ -0,0 +1,109 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.app.thejavatest.PostgresTest;
+import com.app.thejavatest.datasource.SqlStatementFilter;
+import com.app.thejavatest.domain.Study;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@PostgresTest
+class StudyControllerTest {
+
+	@Autowired MockMvc mockMvc;
+
+	@Autowired ObjectMapper objectMapper;
+
+	@Autowired StudyRepository repository;
+
+	@Autowired StudyResponseCache responseCache;
+
+	@Test
+	@DisplayName("POST /study 본문의 enrolledCount 는 무시한다. (음수로 만들어 정원보다 더 받을 수 없다)")
+	void create_with_negative_enrolled_count() throws Exception {
+		String body = mockMvc.perform(post("/study")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"limitCount\":1,\"name\":\"java\",\"enrolledCount\":-5}"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.enrolledCount").value(0))
+			.andReturn().getResponse().getContentAsString();
+		Long id = objectMapper.readValue(body, Study.class).getId();
+
+		assertThat(repository.findById(id).orElseThrow().getEnrolledCount()).isZero();
+		mockMvc.perform(post("/study/{id}/members", id).param("memberId", "1"))
+			.andExpect(status().isCreated());
+		mockMvc.perform(post("/study/{id}/members", id).param("memberId", "2"))
+			.andExpect(status().isConflict());
+		assertThat(repository.findById(id).orElseThrow().getEnrolledCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("POST /study 로 저장된 스터디를 덮어써도 enrolledCount 는 0 으로 돌아가지 않는다.")
+	void overwrite_does_not_reset_enrolled_count() throws Exception {
+		Study study = repository.save(new Study(1, "java"));
+		mockMvc.perform(post("/study/{id}/members", study.getId()).param("memberId", "1"))
+			.andExpect(status().isCreated());
+		Study enrolled = repository.findById(study.getId()).orElseThrow();
+
+		mockMvc.perform(post("/study")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(String.format("{\"id\":%d,\"version\":%d,\"limitCount\":1,\"name\":\"java\",\"enrolledCount\":0}",
+					enrolled.getId(), enrolled.getVersion())))
+			.andExpect(status().isOk());
+
+		assertThat(repository.findById(study.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+		// 자리 캐시를 거치지 않고 DB 조건부 update 도 막히는지 본다.
+		assertThat(repository.incrementEnrolledCount(study.getId())).isZero();
+	}
+
+	@Test
+	@DisplayName("같은 스터디를 동시에 GET 해도 select 는 한번만 실행된다. (single flight)")
+	void get_concurrent_single_query() throws Exception {
+		int requests = 16;
+		Study study = repository.save(new Study(10, "java"));
+		responseCache.evict(study.getId());
+
+		ExecutorService executor = Executors.newFixedThreadPool(requests);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+		for (int i = 0; i < requests; i++) {
+			responses.add(executor.submit(() -> {
+				start.await();
+				return mockMvc.perform(get("/study/{id}", study.getId())).andReturn().getResponse();
+			}));
+		}
+		start.countDown();
+
+		int statements = 0;
+		int rows = 0;
+		for (Future<MockHttpServletResponse> future : responses) {
+			MockHttpServletResponse response = future.get(10, TimeUnit.SECONDS);
+			assertThat(response.getStatus()).isEqualTo(200);
+			assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"" + study.getId() + "-" + study.getVersion() + "\"");
+			statements += Integer.parseInt(response.getHeader(SqlStatementFilter.STATEMENTS_HEADER));
+			rows += Integer.parseInt(response.getHeader(SqlStatementFilter.ROWS_HEADER));
+		}
+		executor.shutdown();
+
+		assertThat(statements).isEqualTo(1);
+		assertThat(rows).isEqualTo(1);
+	}
+}
@@ -0,0 +1,95 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.thejavatest.domain.Study;
+
+/*
+	인기 스터디 하나에 참여 요청이 몰릴 때의 처리량을 잰다. (./gradlew benchmarkTest)
+
+	THREADS 개 스레드가 겹치지 않는 멤버로 MEMBERS 번 참여를 시도하고,
+	정원이 찰 때까지의 초당 참여 수와 전체 요청의 초당 처리 수를 출력한다.
+	정원을 넘지 않는지는 StudyEnrollmentServiceTest 가 확인한다.
+ */
+@Tag("benchmark")
+@StudyJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudyEnrollmentBenchmarkTest {
+
+	private static final int THREADS = 32;
+
+	private static final int MEMBERS = 3200;
+
+	private static final int LIMIT_COUNT = 500;
+
+	@Autowired StudyEnrollmentService enrollmentService;
+
+	@Autowired StudyRepository studyRepository;
+
+	@Autowired StudyMemberRepository studyMemberRepository;
+
+	@BeforeEach
+	void beforeEach() {
+		studyMemberRepository.deleteAll();
+		studyRepository.deleteAll();
+	}
+
+	@Test
+	void enroll_hot_study_throughput() throws Exception {
+		Study study = studyRepository.save(new Study(LIMIT_COUNT, "hot"));
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicLong lastAdmittedAt = new AtomicLong();
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			results.add(executor.submit(enrollMembers(study.getId(), t, start, lastAdmittedAt)));
+		}
+
+		long begin = System.nanoTime();
+		start.countDown();
+		int admitted = 0;
+		for (Future<Integer> result : results) {
+			admitted += result.get();
+		}
+		double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+		double fillSeconds = (lastAdmittedAt.get() - begin) / 1_000_000_000.0;
+		executor.shutdown();
+
+		System.out.printf("enrollment: threads=%d requests=%d admitted=%d elapsed=%.2fs admitted/sec=%.1f requests/sec=%.1f%n",
+			THREADS, MEMBERS, admitted, seconds, admitted / fillSeconds, MEMBERS / seconds);
+
+		assertThat(admitted).isEqualTo(LIMIT_COUNT);
+	}
+
+	// 스레드마다 겹치지 않는 멤버로 MEMBERS / THREADS 번 참여를 시도하고, 들어간 수를 돌려준다.
+	private Callable<Integer> enrollMembers(Long studyId, int thread, CountDownLatch start, AtomicLong lastAdmittedAt) {
+		return () -> {
+			start.await();
+			int admitted = 0;
+			for (long member = thread; member < MEMBERS; member += THREADS) {
+				if (enrollmentService.enroll(studyId, member) == StudyEnrollmentResult.ENROLLED) {
+					admitted++;
+					lastAdmittedAt.accumulateAndGet(System.nanoTime(), Math::max);
+				}
+			}
+			return admitted;
+		};
+	}
+}
@@ -0,0 +1,109 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.thejavatest.domain.Study;
+
+@StudyJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudyEnrollmentServiceTest {
+
+	private static final int THREADS = 32;
+
+	private static final int MEMBERS = 3200;
+
+	@Autowired StudyResponseCache responseCache;
+
+	@Autowired StudyEnrollmentService enrollmentService;
+
+	@Autowired StudyRepository studyRepository;
+
+	@Autowired StudyMemberRepository studyMemberRepository;
+
+	@BeforeEach
+	void beforeEach() {
+		studyMemberRepository.deleteAll();
+		studyRepository.deleteAll();
+	}
+
+	@Test
+	@DisplayName("같은 멤버는 한번만 참여하고, 정원이 차면 더 받지 않는다.")
+	void enroll() {
+		Study study = studyRepository.save(new Study(2, "java"));
+
+		assertThat(enrollmentService.enroll(study.getId(), 1L)).isEqualTo(StudyEnrollmentResult.ENROLLED);
+		assertThat(enrollmentService.enroll(study.getId(), 1L)).isEqualTo(StudyEnrollmentResult.ALREADY_ENROLLED);
+		assertThat(enrollmentService.enroll(study.getId(), 2L)).isEqualTo(StudyEnrollmentResult.ENROLLED);
+		assertThat(enrollmentService.enroll(study.getId(), 3L)).isEqualTo(StudyEnrollmentResult.FULL);
+		assertThat(enrollmentService.enroll(-1L, 1L)).isEqualTo(StudyEnrollmentResult.NOT_FOUND);
+
+		assertThat(studyRepository.findById(study.getId()).orElseThrow().getEnrolledCount()).isEqualTo(2);
+		assertThat(studyMemberRepository.countByStudyId(study.getId())).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("꽉 찬 스터디에 이미 참여한 멤버가 다시 참여하면 FULL 이 아니라 ALREADY_ENROLLED")
+	void enroll_again_into_full_study() {
+		Study study = studyRepository.save(new Study(1, "java"));
+
+		assertThat(enrollmentService.enroll(study.getId(), 1L)).isEqualTo(StudyEnrollmentResult.ENROLLED);
+		assertThat(enrollmentService.enroll(study.getId(), 1L)).isEqualTo(StudyEnrollmentResult.ALREADY_ENROLLED);
+		assertThat(enrollmentService.enroll(study.getId(), 2L)).isEqualTo(StudyEnrollmentResult.FULL);
+
+		assertThat(studyRepository.findById(study.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("인기 스터디 하나에 동시에 몰려도 정원을 넘지 않는다.")
+	void enroll_hot_study_concurrently() throws Exception {
+		int limitCount = 500;
+		Study study = studyRepository.save(new Study(limitCount, "hot"));
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			results.add(executor.submit(enrollMembers(study.getId(), t, start)));
+		}
+
+		start.countDown();
+		int admitted = 0;
+		for (Future<Integer> result : results) {
+			admitted += result.get();
+		}
+		executor.shutdown();
+
+		assertThat(admitted).isEqualTo(limitCount);
+		assertThat(studyRepository.findById(study.getId()).orElseThrow().getEnrolledCount()).isEqualTo(limitCount);
+		assertThat(studyMemberRepository.countByStudyId(study.getId())).isEqualTo(limitCount);
+	}
+
+	// 스레드마다 겹치지 않는 멤버로 MEMBERS / THREADS 번 참여를 시도하고, 들어간 수를 돌려준다.
+	private Callable<Integer> enrollMembers(Long studyId, int thread, CountDownLatch start) {
+		return () -> {
+			start.await();
+			int admitted = 0;
+			for (long member = thread; member < MEMBERS; member += THREADS) {
+				if (enrollmentService.enroll(studyId, member) == StudyEnrollmentResult.ENROLLED) {
+					admitted++;
+				}
+			}
+			return admitted;
+		};
+	}
+}
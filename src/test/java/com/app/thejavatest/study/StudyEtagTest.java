@@ -0,0 +1,32 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class StudyEtagTest {
+
+	@Test
+	void of() {
+		assertThat(StudyEtag.of(1L, 3L, StudyFormat.JSON)).isEqualTo("\"1-3\"");
+		assertThat(StudyEtag.of(1L, 3L, StudyFormat.CBOR)).isEqualTo("\"1-3-cbor\"");
+	}
+
+	@ParameterizedTest(name = "{0} -> {1}")
+	@CsvSource(delimiter = '|', value = {
+		"'\"1-3\"' | true",
+		"'W/\"1-3\"' | true",
+		"'*' | true",
+		"'\"1-2\", W/\"1-3\"' | true",
+		"'  \"1-2\" ,\"1-3\"  ' | true",
+		"'\"1-2\"' | false",
+		"'\"1-3-cbor\"' | false",
+		"'1-3' | false",
+		"'\"1-2\", W/\"1-4\"' | false"
+	})
+	void matches(String ifNoneMatch, boolean expected) {
+		assertThat(StudyEtag.matches(ifNoneMatch, "\"1-3\"")).isEqualTo(expected);
+	}
+}
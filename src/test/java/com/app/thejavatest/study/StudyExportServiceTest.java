@@ -0,0 +1,69 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.app.thejavatest.domain.Study;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@StudyJpaTest
+class StudyExportServiceTest {
+
+	@Autowired StudyExportService exportService;
+
+	@Autowired StudyRepository repository;
+
+	@Autowired EntityManager entityManager;
+
+	@Autowired ObjectMapper objectMapper;
+
+	@BeforeEach
+	void beforeEach() {
+		repository.deleteAll();
+		List<Study> studies = new ArrayList<>();
+		for (int i = 0; i < 1200; i++) {
+			studies.add(new Study(10, "study-" + i));
+		}
+		repository.saveAll(studies);
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void export_ndjson() throws Exception {
+		FlushCountingOutputStream out = new FlushCountingOutputStream();
+
+		long count = exportService.export(out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(count).isEqualTo(1200);
+		assertThat(lines).hasSize(1200);
+		assertThat(out.toString(StandardCharsets.UTF_8)).endsWith("}\n");
+		// 건마다가 아니라 마지막에 한번만 flush 한다.
+		assertThat(out.flushes).isEqualTo(1);
+		assertThat(objectMapper.readValue(lines[0], Study.class).getName()).startsWith("study-");
+		// 내보낸 스터디는 영속성 컨텍스트에 남지 않는다.
+		assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+	}
+
+	static class FlushCountingOutputStream extends ByteArrayOutputStream {
+
+		int flushes;
+
+		@Override
+		public void flush() {
+			flushes++;
+		}
+	}
+}
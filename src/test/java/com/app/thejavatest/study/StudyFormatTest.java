@@ -0,0 +1,25 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class StudyFormatTest {
+
+	@ParameterizedTest(name = "{0} -> {1}")
+	@CsvSource(delimiter = '|', value = {
+		"application/json | JSON",
+		"*/* | JSON",
+		"text/html | JSON",
+		"not a media type | JSON",
+		"application/cbor | CBOR",
+		"application/x-jackson-smile | SMILE",
+		"application/json;q=0.5, application/cbor | CBOR",
+		"application/cbor;q=0.1, application/json | JSON",
+		"application/cbor;q=0, */* | JSON"
+	})
+	void negotiate(String accept, StudyFormat expected) {
+		assertThat(StudyFormat.negotiate(accept)).isEqualTo(expected);
+	}
+}
@@ -0,0 +1,44 @@
+package com.app.thejavatest.study;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.app.thejavatest.TestResources;
+import com.app.thejavatest.TruncateTablesExtension;
+import com.app.thejavatest.member.MemberService;
+
+/*
+	study 패키지의 @DataJpaTest 공통 설정
+
+	클래스마다 @Import, @MockBean 이 다르면 스프링 테스트 컨텍스트 캐시 키가 달라져서
+	클래스마다 컨텍스트와 임베디드 DB, 스키마를 새로 만든다.
+	필요한 서비스와 mock 을 모두 여기에 모아서 한 컨텍스트를 같이 쓰고, 테이블은 TruncateTablesExtension 이 클래스마다 비운다.
+	mock 은 @Autowired 로 받는다. (테스트마다 reset 된다)
+	DB 와 mock 을 같이 쓰므로 병렬 실행 중에도 이 JVM 안에서는 한 클래스씩 돈다. (TestResources.STUDY_JPA_DATABASE)
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@DataJpaTest
+@Import({
+	StudyService.class,
+	StudyQueryService.class,
+	StudyBatchService.class,
+	StudyExportService.class,
+	StudyEnrollmentService.class,
+	NotificationOutboxDispatcher.class,
+	JacksonAutoConfiguration.class
+})
+@MockBean({MemberService.class, StudyResponseCache.class})
+@ExtendWith(TruncateTablesExtension.class)
+@ResourceLock(TestResources.STUDY_JPA_DATABASE)
+public @interface StudyJpaTest {
+}
@@ -0,0 +1,80 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.app.thejavatest.domain.Study;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class StudyMetricsAspectTest {
+
+	@Mock
+	StudyRepository studyRepository;
+
+	SimpleMeterRegistry meterRegistry;
+
+	StudyRepository proxy;
+
+	@BeforeEach
+	void beforeEach() {
+		meterRegistry = new SimpleMeterRegistry();
+		AspectJProxyFactory proxyFactory = new AspectJProxyFactory(studyRepository);
+		proxyFactory.addAspect(new StudyMetricsAspect(meterRegistry));
+		proxy = proxyFactory.getProxy();
+	}
+
+	@Test
+	void repository_success() {
+		given(studyRepository.findById(1L)).willReturn(Optional.of(new Study(10, "java")));
+
+		proxy.findById(1L);
+
+		Timer timer = meterRegistry.get(StudyMetricsAspect.REPOSITORY_TIMER)
+			.tag("method", "findById")
+			.tag("outcome", "SUCCESS")
+			.timer();
+		assertThat(timer.count()).isEqualTo(1);
+	}
+
+	@Test
+	void repository_error() {
+		given(studyRepository.findById(1L)).willThrow(new IllegalStateException("db down"));
+
+		assertThatIllegalStateException().isThrownBy(() -> proxy.findById(1L));
+
+		Timer timer = meterRegistry.get(StudyMetricsAspect.REPOSITORY_TIMER)
+			.tag("method", "findById")
+			.tag("outcome", "ERROR")
+			.tag("exception", "java.lang.IllegalStateException")
+			.timer();
+		assertThat(timer.count()).isEqualTo(1);
+	}
+
+	@Test
+	void repository_error_anonymous_exception() {
+		IllegalStateException anonymous = new IllegalStateException("db down") {
+		};
+		given(studyRepository.findById(1L)).willThrow(anonymous);
+
+		assertThatIllegalStateException().isThrownBy(() -> proxy.findById(1L));
+
+		Timer timer = meterRegistry.get(StudyMetricsAspect.REPOSITORY_TIMER)
+			.tag("method", "findById")
+			.tag("exception", anonymous.getClass().getName())
+			.timer();
+		assertThat(timer.count()).isEqualTo(1);
+		assertThat(timer.getId().getTag("exception")).isNotEmpty();
+	}
+}
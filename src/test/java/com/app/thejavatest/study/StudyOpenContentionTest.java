@@ -0,0 +1,120 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.thejavatest.domain.NotificationOutbox;
+import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.domain.StudyStatus;
+import com.app.thejavatest.member.MemberService;
+
+@StudyJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StudyOpenContentionTest {
+
+	private static final int THREADS = 16;
+
+	private static final int REQUESTS_PER_THREAD = 50;
+
+	@Autowired MemberService memberService;
+
+	@Autowired NotificationOutboxRepository outboxRepository;
+
+	@Autowired StudyRepository studyRepository;
+
+	@Autowired PlatformTransactionManager transactionManager;
+
+	StudyService studyService;
+
+	@BeforeEach
+	void beforeEach() {
+		outboxRepository.deleteAll();
+		studyRepository.deleteAll();
+		studyService = new StudyService(memberService, studyRepository, null, outboxRepository,
+			new TransactionTemplate(transactionManager));
+	}
+
+	@Test
+	@DisplayName("같은 스터디를 동시에 열어도 한번만 열리고 알림도 한번만 쌓인다.")
+	void open_same_study_concurrently() throws Exception {
+		Study draft = studyRepository.save(new Study(10, "java"));
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<List<Study>>> results = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			results.add(executor.submit(openRepeatedly(draft, start)));
+		}
+
+		start.countDown();
+		List<Study> opened = new ArrayList<>();
+		for (Future<List<Study>> result : results) {
+			opened.addAll(result.get());
+		}
+		executor.shutdown();
+
+		Study stored = studyRepository.findById(draft.getId()).orElseThrow();
+		assertThat(stored.getStatus()).isEqualTo(StudyStatus.OPENED);
+		assertThat(stored.getVersion()).isEqualTo(draft.getVersion() + 1);
+		assertThat(opened).hasSize(THREADS * REQUESTS_PER_THREAD)
+			.allSatisfy(study -> {
+				assertThat(study.getStatus()).isEqualTo(StudyStatus.OPENED);
+				assertThat(study.getVersion()).isEqualTo(stored.getVersion());
+				assertThat(study.getOpenedDateTime()).isEqualTo(stored.getOpenedDateTime());
+			});
+		assertThat(outboxRepository.findAll())
+			.extracting(NotificationOutbox::getType)
+			.containsExactly(NotificationOutbox.Type.STUDY_OPENED);
+	}
+
+	@Test
+	@DisplayName("열 때 넘긴 스터디가 오래된 복사본이어도 저장된 상태를 돌려받는다.")
+	void open_stale_copy() {
+		Study draft = studyRepository.save(new Study(10, "java"));
+		studyRepository.incrementEnrolledCount(draft.getId());
+		Study stale = new Study(draft.getLimitCount(), "stale name");
+		stale.setId(draft.getId());
+		stale.setVersion(draft.getVersion());
+
+		Study opened = studyService.openStudy(stale);
+
+		Study stored = studyRepository.findById(draft.getId()).orElseThrow();
+		assertThat(opened).isNotSameAs(stale);
+		assertThat(opened.getStatus()).isEqualTo(StudyStatus.OPENED);
+		assertThat(opened.getName()).isEqualTo("java");
+		assertThat(opened.getEnrolledCount()).isEqualTo(1);
+		assertThat(opened.getVersion()).isEqualTo(draft.getVersion() + 2).isEqualTo(stored.getVersion());
+		assertThat(opened.getOpenedDateTime()).isEqualTo(stored.getOpenedDateTime());
+	}
+
+	// 요청마다 따로 역직렬화된 것처럼 DRAFT 상태의 복사본으로 연다.
+	private Callable<List<Study>> openRepeatedly(Study draft, CountDownLatch start) {
+		return () -> {
+			start.await();
+			List<Study> opened = new ArrayList<>(REQUESTS_PER_THREAD);
+			for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+				Study copy = new Study(draft.getLimitCount(), draft.getName());
+				copy.setId(draft.getId());
+				copy.setVersion(draft.getVersion());
+				opened.add(studyService.openStudy(copy));
+			}
+			return opened;
+		};
+	}
+}
@@ -0,0 +1,87 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.app.thejavatest.domain.Study;
+import com.app.thejavatest.domain.StudyStatus;
+
+@StudyJpaTest
+class StudyQueryServiceTest {
+
+	@Autowired StudyQueryService queryService;
+
+	@Autowired StudyRepository repository;
+
+	List<Long> expectedOrder = new ArrayList<>();
+
+	@BeforeEach
+	void beforeEach() {
+		repository.deleteAll();
+		LocalDateTime base = LocalDateTime.of(2022, 12, 1, 10, 0);
+
+		// 같은 시각에 열린 스터디는 id 순
+		Study first = opened("first", base);
+		Study sameTimeA = opened("same-a", base.plusMinutes(1));
+		Study sameTimeB = opened("same-b", base.plusMinutes(1));
+		Study last = opened("last", base.plusMinutes(2));
+		Study notOpenedA = opened("not-opened-a", null);
+		Study notOpenedB = opened("not-opened-b", null);
+		repository.save(new Study(10, "draft"));
+
+		expectedOrder.add(first.getId());
+		expectedOrder.add(Math.min(sameTimeA.getId(), sameTimeB.getId()));
+		expectedOrder.add(Math.max(sameTimeA.getId(), sameTimeB.getId()));
+		expectedOrder.add(last.getId());
+		expectedOrder.add(notOpenedA.getId());
+		expectedOrder.add(notOpenedB.getId());
+	}
+
+	@Test
+	@DisplayName("next 커서를 따라가면 모든 스터디를 한번씩 순서대로 본다.")
+	void findStudies_walk_all_pages() {
+		List<Long> ids = new ArrayList<>();
+		StudyPage page = queryService.findStudies(StudyStatus.OPENED, null, 2);
+		ids.addAll(idsOf(page));
+		while (page.getNext() != null) {
+			page = queryService.findStudies(StudyStatus.OPENED, StudyCursor.decode(page.getNext()), 2);
+			ids.addAll(idsOf(page));
+		}
+
+		assertThat(ids).containsExactlyElementsOf(expectedOrder);
+	}
+
+	@Test
+	void findStudies_last_page_has_no_next() {
+		StudyPage page = queryService.findStudies(StudyStatus.OPENED, null, expectedOrder.size());
+
+		assertThat(idsOf(page)).containsExactlyElementsOf(expectedOrder);
+		assertThat(page.getNext()).isNull();
+	}
+
+	@Test
+	void findStudies_invalid_limit() {
+		assertThatIllegalArgumentException().isThrownBy(() -> queryService.findStudies(StudyStatus.OPENED, null, 0));
+		assertThatIllegalArgumentException().isThrownBy(() -> StudyCursor.decode("not-a-cursor"));
+	}
+
+	private Study opened(String name, LocalDateTime openedDateTime) {
+		Study study = new Study(10, name);
+		study.setStatus(StudyStatus.OPENED);
+		study.setOpenedDateTime(openedDateTime);
+		return repository.save(study);
+	}
+
+	private List<Long> idsOf(StudyPage page) {
+		return page.getContent().stream().map(Study::getId).collect(Collectors.toList());
+	}
+}
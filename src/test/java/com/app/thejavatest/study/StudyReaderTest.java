@@ -0,0 +1,112 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.app.thejavatest.domain.Study;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class StudyReaderTest {
+
+	@Mock StudyRepository repository;
+
+	SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	StudyReader reader;
+
+	@AfterEach
+	void afterEach() {
+		reader.shutdown();
+	}
+
+	@Test
+	@DisplayName("timeout 이 지나면 기다리지 않고 실패하고, 마지막으로 읽은 값은 남아 있다.")
+	void timeout_last_known() {
+		reader = reader(Duration.ofMillis(100), 10, false);
+		Study study = study(1L);
+		given(repository.findById(1L))
+			.willReturn(Optional.of(study))
+			.willAnswer(invocation -> {
+				Thread.sleep(2000);
+				return Optional.of(study);
+			});
+		assertThat(reader.findById(1L)).containsSame(study);
+
+		long start = System.nanoTime();
+		assertThatExceptionOfType(StudyReadUnavailableException.class)
+			.isThrownBy(() -> reader.findById(1L))
+			.extracting(StudyReadUnavailableException::getReason).isEqualTo("timeout");
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+		assertThat(reader.findLastKnown(1L)).containsSame(study);
+	}
+
+	@Test
+	@DisplayName("동시 조회가 max-concurrent 를 넘으면 바로 실패한다.")
+	void bulkhead() throws Exception {
+		reader = reader(Duration.ofSeconds(5), 1, false);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		given(repository.findById(1L)).willAnswer(invocation -> {
+			started.countDown();
+			release.await();
+			return Optional.of(study(1L));
+		});
+
+		CompletableFuture<Optional<Study>> first = CompletableFuture.supplyAsync(() -> reader.findById(1L));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatExceptionOfType(StudyReadUnavailableException.class)
+			.isThrownBy(() -> reader.findById(2L))
+			.extracting(StudyReadUnavailableException::getReason).isEqualTo("bulkhead");
+		then(repository).should(never()).findById(2L);
+
+		release.countDown();
+		assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+	}
+
+	@Test
+	@DisplayName("hedge 를 켜면 느린 조회 대신 두번째 조회 결과를 쓴다.")
+	void hedge() {
+		reader = reader(Duration.ofSeconds(1), 10, true);
+		AtomicInteger calls = new AtomicInteger();
+		Study study = study(1L);
+		given(repository.findById(1L)).willAnswer(invocation -> {
+			if (calls.incrementAndGet() == 1) {
+				Thread.sleep(3000);
+			}
+			return Optional.of(study);
+		});
+
+		assertThat(reader.findById(1L)).containsSame(study);
+
+		assertThat(calls).hasValue(2);
+		assertThat(meterRegistry.get("study.read.hedges").counter().count()).isEqualTo(1);
+	}
+
+	private StudyReader reader(Duration timeout, int maxConcurrent, boolean hedge) {
+		return new StudyReader(repository, meterRegistry, true, timeout, maxConcurrent, hedge, Duration.ofMillis(20), 100);
+	}
+
+	private Study study(Long id) {
+		Study study = new Study(10, "java");
+		study.setId(id);
+		return study;
+	}
+}
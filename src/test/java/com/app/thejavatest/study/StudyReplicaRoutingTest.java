@@ -0,0 +1,86 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.HttpServletRequest;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.app.thejavatest.datasource.ReadYourWrites;
+import com.app.thejavatest.datasource.ReadYourWritesFilter;
+import com.app.thejavatest.domain.Study;
+
+/*
+	JPA + open-in-view 에서 읽기/쓰기 라우팅 (RoutingDataSourceConfig)
+
+	레플리카 대신 같은 H2 DB 에 SELECT 권한만 있는 사용자(REPLICA) 로 붙는다.
+	레플리카 커넥션으로 쓰면 권한 오류가 난다.
+ */
+@SpringBootTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"datasource.routing.enabled=true",
+	"datasource.routing.replicas[0].url=jdbc:h2:mem:routing;DB_CLOSE_DELAY=-1",
+	"datasource.routing.replicas[0].driver-class-name=org.h2.Driver",
+	"datasource.routing.replicas[0].username=REPLICA",
+	"datasource.routing.replicas[0].password=replica",
+	"chaos.monkey.enabled=false"
+})
+@ActiveProfiles("test")
+class StudyReplicaRoutingTest {
+
+	@Autowired EntityManagerFactory entityManagerFactory;
+
+	@Autowired StudyRepository repository;
+
+	@Autowired JdbcTemplate jdbcTemplate;
+
+	// 트랜잭션 없는 호출이라 primary 로 간다.
+	@BeforeAll
+	void createReplicaUser() {
+		jdbcTemplate.execute("CREATE USER IF NOT EXISTS REPLICA PASSWORD 'replica'");
+		jdbcTemplate.execute("GRANT SELECT ON SCHEMA PUBLIC TO REPLICA");
+	}
+
+	@Test
+	@DisplayName("open-in-view 요청에서 레플리카로 읽은 뒤 쓰면 primary 로 쓰고 read-your-writes 쿠키를 준다.")
+	void write_after_replica_read() throws Exception {
+		Study existing = repository.save(new Study(10, "existing"));
+		OpenEntityManagerInViewInterceptor openInView = new OpenEntityManagerInViewInterceptor();
+		openInView.setEntityManagerFactory(entityManagerFactory);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicReference<Study> written = new AtomicReference<>();
+
+		// StudyService.createNewStudy 처럼 읽기 전용 조회 뒤에 저장한다.
+		new ReadYourWritesFilter().doFilter(new MockHttpServletRequest("POST", "/study"), response, (request, ignored) -> {
+			WebRequest webRequest = new ServletWebRequest((HttpServletRequest)request);
+			openInView.preHandle(webRequest);
+			try {
+				assertThat(repository.findById(existing.getId())).isPresent();
+				written.set(repository.save(new Study(10, "written")));
+			} finally {
+				openInView.afterCompletion(webRequest, null);
+			}
+		});
+
+		assertThat(response.getCookie(ReadYourWrites.COOKIE)).isNotNull();
+		assertThat(repository.findById(written.get().getId())).isPresent();
+	}
+}
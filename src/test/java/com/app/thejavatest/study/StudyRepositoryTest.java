@@ -6,11 +6,10 @@ import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import com.app.thejavatest.domain.Study;
 
-@DataJpaTest
+@StudyJpaTest
 class StudyRepositoryTest {
 
 	@Autowired StudyRepository repository;
@@ -0,0 +1,182 @@
+package com.app.thejavatest.study;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import com.app.thejavatest.domain.Study;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StudyResponseCacheTest {
+
+	SimpleMeterRegistry meterRegistry;
+
+	StudyResponseCache responseCache;
+
+	@BeforeEach
+	void beforeEach() {
+		meterRegistry = new SimpleMeterRegistry();
+		responseCache = new StudyResponseCache(Jackson2ObjectMapperBuilder.json(), meterRegistry,
+			DataSize.ofMegabytes(1), Duration.ofMinutes(1), Duration.ofSeconds(5));
+	}
+
+	@Test
+	@DisplayName("두번째 조회부터는 repository 를 타지 않는다.")
+	void get_hit() {
+		AtomicInteger loads = new AtomicInteger();
+		Study study = new Study(10, "java");
+		study.setId(1L);
+
+		StudyResponseCache.Entry first = responseCache.get(1L, id -> {
+			loads.incrementAndGet();
+			return Optional.of(study);
+		}).orElseThrow();
+		StudyResponseCache.Entry second = responseCache.get(1L, id -> {
+			loads.incrementAndGet();
+			return Optional.of(study);
+		}).orElseThrow();
+
+		assertThat(loads).hasValue(1);
+		assertThat(second).isSameAs(first);
+		assertThat(new String(first.getBody())).contains("\"name\":\"java\"");
+		assertThat(first.getEtag()).isEqualTo("\"1-0\"");
+		assertThat(responseCache.getIfPresent(1L, StudyFormat.JSON)).containsSame(first);
+		assertThat(meterRegistry.get("cache.gets").tag("cache", StudyResponseCache.CACHE_NAME)
+			.tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+	}
+
+	@Test
+	@DisplayName("없는 스터디는 캐시하지 않는다.")
+	void get_missing() {
+		AtomicInteger loads = new AtomicInteger();
+
+		responseCache.get(1L, id -> {
+			loads.incrementAndGet();
+			return Optional.empty();
+		});
+		Optional<StudyResponseCache.Entry> json = responseCache.get(1L, id -> {
+			loads.incrementAndGet();
+			return Optional.empty();
+		});
+
+		assertThat(json).isEmpty();
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	@DisplayName("evict 하면 다음 조회 때 다시 읽는다.")
+	void evict() {
+		Study study = new Study(10, "java");
+		study.setId(1L);
+		responseCache.get(1L, id -> Optional.of(study));
+
+		study.setName("spring");
+		responseCache.evict(1L);
+		byte[] json = responseCache.get(1L, id -> Optional.of(study)).orElseThrow().getBody();
+
+		assertThat(new String(json)).contains("\"name\":\"spring\"");
+	}
+
+	@Test
+	@DisplayName("포맷별로 따로 직렬화해서 캐시하고, evict 하면 모든 포맷이 지워진다.")
+	void get_binary_format() throws Exception {
+		Study study = new Study(10, "java");
+		study.setId(1L);
+
+		StudyResponseCache.Entry json = responseCache.get(1L, StudyFormat.JSON, id -> Optional.of(study)).orElseThrow();
+		StudyResponseCache.Entry cbor = responseCache.get(1L, StudyFormat.CBOR, id -> Optional.of(study)).orElseThrow();
+
+		Study decoded = new ObjectMapper(new CBORFactory()).findAndRegisterModules().readValue(cbor.getBody(), Study.class);
+		assertThat(decoded.getName()).isEqualTo("java");
+		assertThat(cbor.getBody().length).isLessThan(json.getBody().length);
+		assertThat(cbor.getEtag()).isEqualTo("\"1-0-cbor\"").isNotEqualTo(json.getEtag());
+
+		responseCache.evict(1L);
+		assertThat(responseCache.getIfPresent(1L, StudyFormat.JSON)).isEmpty();
+		assertThat(responseCache.getIfPresent(1L, StudyFormat.CBOR)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("같은 스터디를 동시에 조회하면 repository 는 한번만 탄다.")
+	void get_concurrent_single_flight() throws Exception {
+		int requests = 100;
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Study study = new Study(10, "java");
+		study.setId(1L);
+
+		ExecutorService executor = Executors.newFixedThreadPool(requests);
+		List<Future<Optional<StudyResponseCache.Entry>>> responses = new ArrayList<>();
+		for (int i = 0; i < requests; i++) {
+			responses.add(executor.submit(() -> responseCache.get(1L, id -> {
+				loads.incrementAndGet();
+				loading.countDown();
+				await(release);
+				return Optional.of(study);
+			})));
+		}
+		// 첫 조회가 DB 를 읽는 동안 나머지 요청이 모두 도착하도록 잠깐 붙잡아 둔다.
+		assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+		Thread.sleep(200);
+		release.countDown();
+
+		for (Future<Optional<StudyResponseCache.Entry>> response : responses) {
+			assertThat(new String(response.get().orElseThrow().getBody())).contains("\"name\":\"java\"");
+		}
+		executor.shutdown();
+		assertThat(loads).hasValue(1);
+	}
+
+	@Test
+	@DisplayName("먼저 읽는 요청이 timeout 안에 끝나지 않으면 기다리던 요청은 실패한다.")
+	void get_concurrent_timeout() throws Exception {
+		responseCache = new StudyResponseCache(Jackson2ObjectMapperBuilder.json(), meterRegistry,
+			DataSize.ofMegabytes(1), Duration.ofMinutes(1), Duration.ofMillis(100));
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Study study = new Study(10, "java");
+		study.setId(1L);
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<Optional<StudyResponseCache.Entry>> leader = executor.submit(() -> responseCache.get(1L, id -> {
+			loading.countDown();
+			await(release);
+			return Optional.of(study);
+		}));
+		assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatExceptionOfType(StudyLoadTimeoutException.class)
+			.isThrownBy(() -> responseCache.get(1L, id -> Optional.of(study)));
+
+		release.countDown();
+		assertThat(leader.get()).isPresent();
+		executor.shutdown();
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
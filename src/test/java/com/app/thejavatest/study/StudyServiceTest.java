@@ -5,7 +5,6 @@ import static org.mockito.BDDMockito.*;
 
 import java.util.Optional;
 
-import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,23 +12,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.ActiveProfiles;
-import org.testcontainers.containers.GenericContainer;
-import org.testcontainers.containers.output.Slf4jLogConsumer;
-import org.testcontainers.junit.jupiter.Container;
-import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.containers.PostgreSQLContainer;
 
+import com.app.thejavatest.PostgresTest;
+import com.app.thejavatest.SharedPostgresContainer;
 import com.app.thejavatest.domain.Member;
 import com.app.thejavatest.domain.Study;
 import com.app.thejavatest.domain.StudyStatus;
 import com.app.thejavatest.member.MemberService;
 
-import lombok.extern.slf4j.Slf4j;
-
-@SpringBootTest
+@PostgresTest
 @ExtendWith(MockitoExtension.class)
-@ActiveProfiles("test")
 /*
 	# Testcontainers (테스트에서 도커 컨테이너를 실행할 수 있는 라이브러리. https://www.testcontainers.org/)
 		테스트 코드에서 컨테이너를 띄우고 내리는 작업을 알아서 해준다.
@@ -90,9 +83,15 @@ import lombok.extern.slf4j.Slf4j;
 		3. @ContextConfiguration을 사용해서 ApplicationContextInitializer 구현체를 등록한다.
 		4. 테스트 코드에서 Environment, @Value, @ConfigurationProperties 등 다양한 방법으로 해당 프로퍼티를 사용한다.
 
+	---
+
+	# 컨테이너와 컨텍스트 재사용 (@PostgresTest)
+		클래스마다 컨테이너를 띄우면 테스트 클래스 수만큼 DB 를 띄우고 스키마를 만든다.
+		SharedPostgresContainer 가 JVM 에 하나만 띄운 컨테이너를 ApplicationContextInitializer 로 넣어주고,
+		설정이 같은 테스트 클래스끼리는 스프링 테스트 컨텍스트 캐시로 컨텍스트도 같이 쓴다.
+		데이터는 TruncateTablesExtension 이 테스트 클래스마다 비운다.
+
  */
-@Testcontainers
-@Slf4j
 class StudyServiceTest {
 
 	@Mock
@@ -107,11 +106,14 @@ class StudyServiceTest {
 	// 	.withDatabaseName("studytest");
 
 	// 테스트 컨테이너가 지원하지 않는 컨테이너는 어떻게 만들까?
-	@Container
-	private static final GenericContainer postgreSQLContainer = new GenericContainer("postgres")
-		.withExposedPorts(5432)
-		.withEnv("POSTGRES_PASSWORD", "studytest")
-		.withEnv("POSTGRES_DB", "studytest");
+	// @Container
+	// private static final GenericContainer postgreSQLContainer = new GenericContainer("postgres")
+	// 	.withExposedPorts(5432)
+	// 	.withEnv("POSTGRES_PASSWORD", "studytest")
+	// 	.withEnv("POSTGRES_DB", "studytest");
+
+	// JVM 에 하나만 띄운 컨테이너 (@PostgresTest)
+	private static final PostgreSQLContainer<?> postgreSQLContainer = SharedPostgresContainer.getInstance();
 
 	// docker compose
 	// @ClassRule // https://www.testcontainers.org/modules/docker_compose/
@@ -125,12 +127,12 @@ class StudyServiceTest {
 		studyRepository.deleteAll();
 	}
 
-	@BeforeAll
-	static void beforeAll() {
-		// log streaming
-		Slf4jLogConsumer logConsumer = new Slf4jLogConsumer(log);
-		postgreSQLContainer.followOutput(logConsumer);
-	}
+	// log streaming 은 컨테이너를 띄울 때 한번만 붙인다. (SharedPostgresContainer)
+	// @BeforeAll
+	// static void beforeAll() {
+	// 	Slf4jLogConsumer logConsumer = new Slf4jLogConsumer(log);
+	// 	postgreSQLContainer.followOutput(logConsumer);
+	// }
 
 	@Test
 	void createNewStudy() {
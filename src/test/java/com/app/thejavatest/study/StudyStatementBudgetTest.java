@@ -0,0 +1,97 @@
+package com.app.thejavatest.study;
+
+import static com.app.thejavatest.datasource.SqlStatementBudget.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.app.thejavatest.PostgresTest;
+import com.app.thejavatest.datasource.SqlStatementBudget;
+import com.app.thejavatest.datasource.SqlStatementFilter;
+import com.app.thejavatest.datasource.SqlStatementStats;
+import com.app.thejavatest.domain.Study;
+
+/*
+	엔드포인트별 SQL 예산. 시퀀스는 allocationSize 만큼 미리 받으므로 첫 insert 에서만 조회된다. (pooled 라 최대 2번)
+	예산을 넘으면 N+1 이나 불필요한 조회(저장 전 select 등)가 새로 생긴 것이다.
+ */
+@PostgresTest
+class StudyStatementBudgetTest {
+
+	@Autowired MockMvc mockMvc;
+
+	@Autowired StudyRepository repository;
+
+	@Autowired StudyService studyService;
+
+	@Test
+	@DisplayName("GET /study/{id} 는 캐시에 없으면 select 한번, 있으면 SQL 없이 응답한다.")
+	void get_study() throws Exception {
+		Study study = repository.save(new Study(10, "budget"));
+
+		mockMvc.perform(get("/study/{id}", study.getId()))
+			.andExpect(status().isOk())
+			.andExpect(atMost(1))
+			.andExpect(header().string(SqlStatementFilter.ROWS_HEADER, "1"));
+		mockMvc.perform(get("/study/{id}", study.getId()))
+			.andExpect(status().isOk())
+			.andExpect(atMost(0));
+	}
+
+	@Test
+	@DisplayName("POST /study 는 저장 전에 select 하지 않는다.")
+	void create_study() throws Exception {
+		mockMvc.perform(post("/study")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"limitCount\":10,\"name\":\"budget\"}"))
+			.andExpect(status().isOk())
+			.andExpect(atMost(3));
+	}
+
+	@Test
+	@DisplayName("GET /studies 는 스터디 수와 상관없이 페이지 쿼리만 실행한다.")
+	void get_studies() throws Exception {
+		List<Study> studies = new ArrayList<>();
+		for (int i = 0; i < 30; i++) {
+			studies.add(new Study(10, "budget-" + i));
+		}
+		repository.saveAll(studies);
+
+		mockMvc.perform(get("/studies").param("status", "DRAFT").param("limit", "20"))
+			.andExpect(status().isOk())
+			.andExpect(atMost(2));
+	}
+
+	@Test
+	@DisplayName("POST /study/{id}/members 는 자리가 캐시된 뒤로 insert, update 만 실행한다.")
+	void enroll() throws Exception {
+		Study study = repository.save(new Study(10, "budget"));
+
+		mockMvc.perform(post("/study/{id}/members", study.getId()).param("memberId", "1"))
+			.andExpect(status().isCreated())
+			.andExpect(atMost(5));
+		mockMvc.perform(post("/study/{id}/members", study.getId()).param("memberId", "2"))
+			.andExpect(status().isCreated())
+			.andExpect(atMost(2));
+	}
+
+	@Test
+	@DisplayName("openStudy 는 조건부 update, 저장된 스터디 select 한번, outbox insert 만 실행한다.")
+	void open_study() {
+		Study draft = repository.save(new Study(10, "budget"));
+
+		SqlStatementStats stats = SqlStatementBudget.measure(() -> studyService.openStudy(draft));
+
+		assertThat(stats.getStatements()).isLessThanOrEqualTo(5);
+		assertThat(stats.getRows()).isEqualTo(1);
+	}
+}